@@ -0,0 +1,436 @@
+package com.tutortimer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incrementally tails every {@code .log} file under a directory tree from a single thread.
+ *
+ * Change notifications come from a {@link WatchService}; each file remembers the byte
+ * offset it was read up to, so a notification only costs a positional channel read of
+ * the appended bytes. Offsets follow the file rather than its name, so a rolled-over log
+ * keeps its offset under its new name and the fresh {@code latest.log} is read from the
+ * start. Where the platform has file keys (inodes) they identify the file. Where it
+ * doesn't (Windows), files are told apart by their first bytes: a name whose content no
+ * longer starts the same way has been replaced, and a differently named log in the same
+ * directory that starts like a just-deleted one is that file renamed, so it keeps the offset.
+ */
+@Slf4j
+class ChatLogTailer implements Closeable
+{
+    interface LineHandler
+    {
+        void onLine(Path file, String line);
+    }
+
+    private static final String LOG_SUFFIX = ".log";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    // enough to cover the timestamp and first message, which differ between any two logs
+    private static final int HEAD_BYTES = 64;
+
+    private static final class TailState
+    {
+        long position;
+        // bytes of a line that hasn't been terminated yet
+        final ByteArrayOutputStream partial = new ByteArrayOutputStream();
+        // first bytes of the file, only used to identify files on platforms without file keys
+        byte[] head = new byte[0];
+    }
+
+    // Offset of a just-deleted path on a platform without file keys, waiting for the rename target.
+    private static final class Renamed
+    {
+        final Path fileName;
+        final TailState state;
+        boolean stale;
+
+        Renamed(Path fileName, TailState state)
+        {
+            this.fileName = fileName;
+            this.state = state;
+        }
+    }
+
+    private final Path root;
+    private final LineHandler handler;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+    // keyed by file key where available so offsets survive renames, else by path
+    private final Map<Object, TailState> states = new HashMap<>();
+    private final Map<Path, Object> idsByPath = new HashMap<>();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private final ByteBuffer headBuffer = ByteBuffer.allocate(HEAD_BYTES);
+    // offsets no longer reachable by any path, kept for one more poll in case a rename is half-delivered
+    private Set<Object> orphans = new HashSet<>();
+    private boolean orphansPossible;
+    // by directory; like orphans, kept for one more poll in case the create arrives late
+    private final Map<Path, Renamed> renamed = new HashMap<>();
+
+    ChatLogTailer(Path root, LineHandler handler) throws IOException
+    {
+        this.root = root;
+        this.handler = handler;
+        this.watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    // Start watching. Existing content is skipped; only lines written from now on are reported.
+    void start() throws IOException
+    {
+        // the plugin only creates it on the first tutor message; a missing root would never be watched
+        Files.createDirectories(root);
+        registerTree(root, true);
+    }
+
+    /**
+     * Waits up to {@code timeoutMillis} for changes and reads whatever was appended.
+     * Returns false once the tailer has been closed.
+     */
+    boolean poll(long timeoutMillis) throws InterruptedException
+    {
+        WatchKey key;
+        try
+        {
+            key = watchService.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        catch (ClosedWatchServiceException e)
+        {
+            return false;
+        }
+
+        while (key != null)
+        {
+            handleKey(key);
+            key = watchService.poll();
+        }
+
+        if (orphansPossible)
+        {
+            sweepOrphans();
+        }
+        if (!renamed.isEmpty())
+        {
+            sweepRenamed();
+        }
+        return true;
+    }
+
+    // Re-checks every known file against its stored offset; used when events were dropped.
+    void catchUp()
+    {
+        for (Path file : idsByPath.keySet().toArray(new Path[0]))
+        {
+            readAppended(file, false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        watchService.close();
+    }
+
+    private void handleKey(WatchKey key)
+    {
+        Path dir = watchedDirs.get(key);
+        List<WatchEvent<?>> events = key.pollEvents();
+        // Deletes first: by the time a batch is read a rename has fully happened, so later
+        // events for the old name already refer to its replacement.
+        List<WatchEvent<?>> ordered = new ArrayList<>(events.size());
+        for (WatchEvent<?> event : events)
+        {
+            if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) ordered.add(event);
+        }
+        for (WatchEvent<?> event : events)
+        {
+            if (event.kind() != StandardWatchEventKinds.ENTRY_DELETE) ordered.add(event);
+        }
+
+        for (WatchEvent<?> event : ordered)
+        {
+            WatchEvent.Kind<?> kind = event.kind();
+            if (kind == StandardWatchEventKinds.OVERFLOW || dir == null)
+            {
+                log.debug("Watch events overflowed, catching up on all chat logs");
+                catchUp();
+                continue;
+            }
+
+            Path path = dir.resolve((Path) event.context());
+            if (kind == StandardWatchEventKinds.ENTRY_DELETE)
+            {
+                forget(path);
+            }
+            else if (isLog(path))
+            {
+                readAppended(path, false);
+            }
+            else if (kind == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path))
+            {
+                // account or chat type folders created after startup, e.g. a new login
+                try
+                {
+                    registerTree(path, false);
+                }
+                catch (IOException e)
+                {
+                    log.warn("Unable to watch chat log directory {}", path, e);
+                }
+            }
+        }
+
+        if (!key.reset())
+        {
+            watchedDirs.remove(key);
+        }
+    }
+
+    private void registerTree(Path start, boolean skipExisting) throws IOException
+    {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>()
+        {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+            {
+                try
+                {
+                    WatchKey key = dir.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                    watchedDirs.put(key, dir);
+                    return FileVisitResult.CONTINUE;
+                }
+                catch (IOException e)
+                {
+                    log.debug("Chat log directory {} went away while being watched", dir, e);
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+            {
+                if (isLog(file)) readAppended(file, skipExisting);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e)
+            {
+                // deleted mid-walk, e.g. an account folder being cleaned up
+                log.debug("Skipping chat log path {}", file, e);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    // Package-private so tests can simulate platforms without file keys.
+    Object fileKey(BasicFileAttributes attrs)
+    {
+        return attrs.fileKey();
+    }
+
+    private void readAppended(Path file, boolean skipExisting)
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            Object fileKey = fileKey(attrs);
+            Object id = fileKey != null ? fileKey : file;
+
+            Object previousId = idsByPath.put(file, id);
+            if (previousId != null && !previousId.equals(id))
+            {
+                // a different file took over this name; the old one may live on under another
+                orphansPossible = true;
+            }
+
+            TailState state = states.get(id);
+            if (state != null && fileKey == null && !sameFile(channel, state))
+            {
+                // the name now belongs to a new file; the old one was renamed away or deleted
+                renamed.put(file.getParent(), new Renamed(file.getFileName(), state));
+                state = null;
+            }
+            if (state == null)
+            {
+                state = fileKey == null ? adoptRenamed(file, channel) : null;
+                if (state == null)
+                {
+                    state = new TailState();
+                    state.position = skipExisting ? channel.size() : 0L;
+                    if (fileKey == null) state.head = readHead(channel);
+                }
+                states.put(id, state);
+            }
+            else if (channel.size() < state.position)
+            {
+                // truncated in place
+                state.position = 0L;
+                state.partial.reset();
+            }
+
+            long size = channel.size();
+            while (state.position < size)
+            {
+                buffer.clear();
+                int read = channel.read(buffer, state.position);
+                if (read <= 0) break;
+                state.position += read;
+                buffer.flip();
+                emitLines(file, state);
+            }
+        }
+        catch (NoSuchFileException e)
+        {
+            forget(file);
+        }
+        catch (IOException e)
+        {
+            log.warn("Unable to read chat log {}", file, e);
+        }
+    }
+
+    // Whether the channel still starts with the bytes seen so far, extending them if the file has grown.
+    private boolean sameFile(FileChannel channel, TailState state) throws IOException
+    {
+        byte[] current = readHead(channel);
+        if (current.length < state.head.length) return false;
+        for (int i = 0; i < state.head.length; i++)
+        {
+            if (current[i] != state.head[i]) return false;
+        }
+        state.head = current;
+        return true;
+    }
+
+    private byte[] readHead(FileChannel channel) throws IOException
+    {
+        headBuffer.clear();
+        while (headBuffer.hasRemaining())
+        {
+            if (channel.read(headBuffer, headBuffer.position()) <= 0) break;
+        }
+        return Arrays.copyOf(headBuffer.array(), headBuffer.position());
+    }
+
+    private void emitLines(Path file, TailState state)
+    {
+        while (buffer.hasRemaining())
+        {
+            byte b = buffer.get();
+            if (b != '\n')
+            {
+                state.partial.write(b);
+                continue;
+            }
+
+            byte[] bytes = state.partial.toByteArray();
+            state.partial.reset();
+            int length = bytes.length;
+            if (length > 0 && bytes[length - 1] == '\r') length--;
+            handler.onLine(file, new String(bytes, 0, length, StandardCharsets.UTF_8));
+        }
+    }
+
+    // A rotation arrives as delete + create, possibly split across polls, so an offset
+    // is only dropped once it has stayed unreachable for a whole poll.
+    private void sweepOrphans()
+    {
+        Set<Object> live = new HashSet<>(idsByPath.values());
+        Set<Object> current = new HashSet<>();
+        for (Object id : states.keySet())
+        {
+            if (!live.contains(id)) current.add(id);
+        }
+
+        for (Object id : current)
+        {
+            if (orphans.contains(id)) states.remove(id);
+        }
+        current.retainAll(states.keySet());
+        orphans = current;
+        orphansPossible = !orphans.isEmpty();
+    }
+
+    private void forget(Path path)
+    {
+        Object id = idsByPath.get(path);
+        if (id == null) return;
+
+        if (id.equals(path))
+        {
+            // a replacement already holds the name; reading it hands the old offset over if it differs
+            if (Files.exists(path))
+            {
+                readAppended(path, false);
+                return;
+            }
+
+            // no file key to follow, so hold the offset for a log appearing under a new name
+            idsByPath.remove(path);
+            TailState state = states.remove(id);
+            if (state != null) renamed.put(path.getParent(), new Renamed(path.getFileName(), state));
+        }
+        else
+        {
+            idsByPath.remove(path);
+            orphansPossible = true;
+        }
+    }
+
+    // A differently named log in the same directory that starts like a just-deleted one is that file renamed.
+    private TailState adoptRenamed(Path file, FileChannel channel) throws IOException
+    {
+        Renamed candidate = renamed.get(file.getParent());
+        if (candidate == null
+            || candidate.fileName.equals(file.getFileName())
+            || !sameFile(channel, candidate.state)) return null;
+
+        renamed.remove(file.getParent());
+        return candidate.state;
+    }
+
+    private void sweepRenamed()
+    {
+        for (Iterator<Renamed> it = renamed.values().iterator(); it.hasNext(); )
+        {
+            Renamed candidate = it.next();
+            if (candidate.stale) it.remove();
+            else candidate.stale = true;
+        }
+    }
+
+    private static boolean isLog(Path path)
+    {
+        return path.getFileName().toString().endsWith(LOG_SUFFIX);
+    }
+}
@@ -0,0 +1,124 @@
+package com.tutortimer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Standalone tracker that follows the tutor logs the plugin writes when "Write log for
+ * headless mode" is on, instead of running inside the client. Every account folder under
+ * the log directory is tracked separately, using the same message matching and
+ * {@link TutorCooldown} rules as the plugin, and each state change is written to stdout
+ * as one line for dashboards to scrape.
+ *
+ * Usage: {@code TutorTimerHeadless [log dir]}, defaulting to {@code ~/.runelite/tutortimer}.
+ * Any tree laid out as {@code <account>/.../*.log} with the tutor messages in it works.
+ */
+@Slf4j
+public class TutorTimerHeadless
+{
+    private static final long MIN_POLL_MS = 250L;
+    private static final long MAX_POLL_MS = 60_000L;
+
+    private final Path root;
+    private final Clock clock;
+    private final Map<String, TutorCooldown> accounts = new HashMap<>();
+    // each account's next state change, so polling never walks every account
+    private final FleetScheduler fleet = new FleetScheduler();
+
+    TutorTimerHeadless(Path root, Clock clock)
+    {
+        this.root = root;
+        this.clock = clock;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException
+    {
+        Path root = args.length > 0
+            ? Paths.get(args[0])
+            : Paths.get(System.getProperty("user.home"), ".runelite", "tutortimer");
+        new TutorTimerHeadless(root, Clock.systemUTC()).run();
+    }
+
+    void run() throws IOException, InterruptedException
+    {
+        try (ChatLogTailer tailer = new ChatLogTailer(root, this::onLine))
+        {
+            tailer.start();
+            log.info("Tutor Timer headless tracking tutor logs under {}", root);
+            do
+            {
+                expireDue();
+            }
+            while (tailer.poll(pollTimeout()));
+        }
+    }
+
+    void onLine(Path file, String line)
+    {
+        TutorMessage message = TutorMessage.match(line);
+        if (message == null) return;
+
+        String account = root.relativize(file).getName(0).toString();
+        TutorCooldown cooldown = accounts.computeIfAbsent(account, a -> new TutorCooldown());
+        // the plugin stamps each line, so a backlog read late still counts from when it was seen
+        long at = TutorMessage.logTime(line, clock.millis());
+        TimerState before = cooldown.state();
+        cooldown.state(at);
+        cooldown.apply(message, at);
+        report(account, before, cooldown, message == TutorMessage.CLAIM);
+
+        // every tutor message leaves the account with a deadline; anything else keeps its place
+        long next = cooldown.nextDeadline();
+        if (next != Long.MAX_VALUE) fleet.schedule(account, next, cooldown.isExact());
+    }
+
+    // Sleep until the next deadline, so READY transitions are reported without busy polling.
+    private long pollTimeout()
+    {
+        long next = fleet.nextDeadline() - clock.millis();
+        return Math.max(MIN_POLL_MS, Math.min(MAX_POLL_MS, next));
+    }
+
+    // Package-private for tests.
+    void expireDue()
+    {
+        long now = clock.millis();
+        for (FleetScheduler.Deadline due : fleet.advance(now))
+        {
+            TutorCooldown cooldown = accounts.get(due.account);
+            TimerState before = cooldown.state();
+            cooldown.state(now);
+            cooldown.expireKnownCooldown(now);
+            report(due.account, before, cooldown, false);
+        }
+    }
+
+    // Package-private for tests.
+    TimerState stateOf(String account)
+    {
+        TutorCooldown cooldown = accounts.get(account);
+        return cooldown == null ? TimerState.UNTRACKED : cooldown.state();
+    }
+
+    // Package-private for tests.
+    FleetScheduler fleet()
+    {
+        return fleet;
+    }
+
+    // One stdout line per state change, and for every claim since it moves the deadline.
+    private static void report(String account, TimerState before, TutorCooldown cooldown, boolean claimed)
+    {
+        TimerState after = cooldown.state();
+        if (after == before && !claimed) return;
+        log.info("account={} state={} readyAt={}", account, after,
+            after == TimerState.COUNTING ? Instant.ofEpochMilli(cooldown.claimReadyAtMillis()) : "-");
+    }
+}
@@ -0,0 +1,235 @@
+package com.tutortimer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Next-ready deadlines for every tracked account. Accounts still on cooldown sit in a
+ * binary min-heap that records each account's slot, so a claim or rejection moves one
+ * account in O(log n). Once an account's deadline passes it moves to a ready list, where
+ * it stays until that account is rescheduled.
+ *
+ * Nothing here scans the whole fleet. {@link #advance} only looks at the top of the heap
+ * when nothing is due, {@link #readyNow} reads the front of the ready list, and
+ * {@link #nextReady} walks only the part of the heap it returns. Not thread-safe; callers
+ * snapshot the query results before handing them to other threads.
+ */
+final class FleetScheduler
+{
+    private static final Comparator<Deadline> ORDER = Comparator
+        .comparingLong((Deadline d) -> d.readyAtMillis)
+        .thenComparing(d -> d.account);
+
+    private Deadline[] heap = new Deadline[16];
+    private int pending;
+    private final Map<String, Deadline> byAccount = new HashMap<>();
+    // accounts whose deadline has passed, in the order they came due
+    private final Map<String, Deadline> ready = new LinkedHashMap<>();
+    // bumped on every change so views can skip rebuilding when nothing moved
+    private long version;
+
+    /**
+     * When an account can next claim. {@code exact} is false for deadlines inferred from
+     * a rejection, which only bound the remaining time from above.
+     */
+    static final class Deadline
+    {
+        final String account;
+        final long readyAtMillis;
+        final boolean exact;
+        // heap index while pending, -1 once ready
+        private int slot = -1;
+
+        Deadline(String account, long readyAtMillis, boolean exact)
+        {
+            this.account = account;
+            this.readyAtMillis = readyAtMillis;
+            this.exact = exact;
+        }
+    }
+
+    // Sets or moves an account's deadline in O(log n). Returns false if it already had this one.
+    boolean schedule(String account, long readyAtMillis, boolean exact)
+    {
+        Deadline previous = byAccount.get(account);
+        if (previous != null && previous.readyAtMillis == readyAtMillis && previous.exact == exact) return false;
+
+        Deadline next = new Deadline(account, readyAtMillis, exact);
+        byAccount.put(account, next);
+        version++;
+
+        if (previous == null || previous.slot < 0)
+        {
+            if (previous != null) ready.remove(account);
+            growIfFull();
+            place(next, pending++);
+            siftUp(next.slot);
+            return true;
+        }
+
+        int slot = previous.slot;
+        place(next, slot);
+        if (ORDER.compare(next, previous) < 0) siftUp(slot);
+        else siftDown(slot);
+        return true;
+    }
+
+    void clear()
+    {
+        Arrays.fill(heap, 0, pending, null);
+        pending = 0;
+        byAccount.clear();
+        ready.clear();
+        version++;
+    }
+
+    /**
+     * Moves every account whose deadline has passed onto the ready list and returns them,
+     * earliest first. O(1) when nothing is due, O(log n) for each account that is.
+     */
+    List<Deadline> advance(long now)
+    {
+        if (pending == 0 || heap[0].readyAtMillis > now) return Collections.emptyList();
+
+        List<Deadline> due = new ArrayList<>();
+        while (pending > 0 && heap[0].readyAtMillis <= now)
+        {
+            Deadline top = heap[0];
+            Deadline last = heap[--pending];
+            heap[pending] = null;
+            if (pending > 0)
+            {
+                place(last, 0);
+                siftDown(0);
+            }
+            top.slot = -1;
+            ready.put(top.account, top);
+            due.add(top);
+        }
+        version++;
+        return due;
+    }
+
+    // Up to n accounts that can claim now, in the order they came due. O(n).
+    List<Deadline> readyNow(int n)
+    {
+        int limit = Math.min(n, ready.size());
+        if (limit <= 0) return Collections.emptyList();
+
+        List<Deadline> now = new ArrayList<>(limit);
+        for (Deadline deadline : ready.values())
+        {
+            if (now.size() == limit) break;
+            now.add(deadline);
+        }
+        return now;
+    }
+
+    int readyCount()
+    {
+        return ready.size();
+    }
+
+    /**
+     * The next {@code n} accounts to come off cooldown, earliest first. A best-first walk
+     * of the heap: only children of accounts already taken can be next, so the cost is
+     * O(n log n) no matter how big the fleet is.
+     */
+    List<Deadline> nextReady(int n)
+    {
+        int limit = Math.min(n, pending);
+        if (limit <= 0) return Collections.emptyList();
+
+        List<Deadline> next = new ArrayList<>(limit);
+        PriorityQueue<Deadline> frontier = new PriorityQueue<>(ORDER);
+        frontier.add(heap[0]);
+        while (next.size() < limit)
+        {
+            Deadline candidate = frontier.poll();
+            next.add(candidate);
+            int child = 2 * candidate.slot + 1;
+            if (child < pending) frontier.add(heap[child]);
+            if (child + 1 < pending) frontier.add(heap[child + 1]);
+        }
+        return next;
+    }
+
+    // Earliest pending deadline, or Long.MAX_VALUE when no account is on cooldown.
+    long nextDeadline()
+    {
+        return pending == 0 ? Long.MAX_VALUE : heap[0].readyAtMillis;
+    }
+
+    // The account's deadline, pending or already passed, or null if it isn't tracked. O(1).
+    Deadline deadline(String account)
+    {
+        return byAccount.get(account);
+    }
+
+    Collection<Deadline> deadlines()
+    {
+        return Collections.unmodifiableCollection(byAccount.values());
+    }
+
+    int size()
+    {
+        return byAccount.size();
+    }
+
+    long version()
+    {
+        return version;
+    }
+
+    // --- Heap ---
+
+    private void growIfFull()
+    {
+        if (pending == heap.length)
+        {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+    }
+
+    private void place(Deadline deadline, int slot)
+    {
+        heap[slot] = deadline;
+        deadline.slot = slot;
+    }
+
+    private void siftUp(int slot)
+    {
+        Deadline moving = heap[slot];
+        while (slot > 0)
+        {
+            int parent = (slot - 1) >>> 1;
+            if (ORDER.compare(moving, heap[parent]) >= 0) break;
+            place(heap[parent], slot);
+            slot = parent;
+        }
+        place(moving, slot);
+    }
+
+    private void siftDown(int slot)
+    {
+        Deadline moving = heap[slot];
+        int half = pending >>> 1;
+        while (slot < half)
+        {
+            int child = 2 * slot + 1;
+            if (child + 1 < pending && ORDER.compare(heap[child + 1], heap[child]) < 0) child++;
+            if (ORDER.compare(moving, heap[child]) <= 0) break;
+            place(heap[child], slot);
+            slot = child;
+        }
+        place(moving, slot);
+    }
+}
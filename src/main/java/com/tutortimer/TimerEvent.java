@@ -0,0 +1,18 @@
+package com.tutortimer;
+
+/**
+ * Inputs that move the tracker between {@link TimerState}s.
+ */
+enum TimerEvent
+{
+    // runes or arrows were handed out, or a claim was restored from config
+    CLAIM,
+    // a tutor told us we're on cooldown without saying for how long
+    COOLDOWN_CONFIRMED,
+    // the tracked claim reached the end of its cooldown
+    CLAIM_EXPIRED,
+    // an unknown-length cooldown is known to have lapsed
+    KNOWN_EXPIRED,
+    // tracking was discarded, e.g. a claim that may belong to another account
+    RESET
+}
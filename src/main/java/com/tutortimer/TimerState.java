@@ -0,0 +1,75 @@
+package com.tutortimer;
+
+import java.awt.Color;
+import java.time.Duration;
+
+/**
+ * Explicit cooldown tracking states. Each state carries everything the info box
+ * needs to render it, and transitions are a single lookup in a precomputed
+ * (state, event) table.
+ */
+enum TimerState
+{
+    UNTRACKED(Color.YELLOW, TextMode.FIXED, "?", "Tutor Timer - claim runes or arrows to start tracking", true),
+    UNKNOWN_COOLDOWN(Color.YELLOW, TextMode.FIXED, "< 30m", "Tutor Timer - on cooldown, but unknown time remaining", true),
+    COUNTING(Color.WHITE, TextMode.COUNTDOWN, null, "Tutor Timer - %s remaining", false),
+    READY(Color.GREEN, TextMode.FIXED, "Ready!", "Tutor Timer - ready to claim!", false);
+
+    enum TextMode
+    {
+        // the state's text never changes
+        FIXED,
+        // text is the remaining time, formatted by the plugin
+        COUNTDOWN
+    }
+
+    // time between claims from the Lumbridge combat tutors
+    static final Duration COOLDOWN = Duration.ofMinutes(30);
+
+    private static final TimerState[][] TRANSITIONS = new TimerState[values().length][TimerEvent.values().length];
+
+    static
+    {
+        for (TimerState state : values())
+        {
+            TimerState[] row = TRANSITIONS[state.ordinal()];
+            // events that don't apply to a state leave it unchanged
+            java.util.Arrays.fill(row, state);
+            row[TimerEvent.CLAIM.ordinal()] = COUNTING;
+            row[TimerEvent.RESET.ordinal()] = UNTRACKED;
+        }
+
+        TRANSITIONS[UNTRACKED.ordinal()][TimerEvent.COOLDOWN_CONFIRMED.ordinal()] = UNKNOWN_COOLDOWN;
+        // a READY claim is stale once a tutor says we're on cooldown again
+        TRANSITIONS[READY.ordinal()][TimerEvent.COOLDOWN_CONFIRMED.ordinal()] = UNKNOWN_COOLDOWN;
+
+        TRANSITIONS[COUNTING.ordinal()][TimerEvent.CLAIM_EXPIRED.ordinal()] = READY;
+        TRANSITIONS[UNKNOWN_COOLDOWN.ordinal()][TimerEvent.KNOWN_EXPIRED.ordinal()] = UNTRACKED;
+    }
+
+    final Color textColor;
+    final TextMode textMode;
+    final String text;
+    final String tooltip;
+    // true when there is no claim timestamp to count down from
+    final boolean unknown;
+
+    TimerState(Color textColor, TextMode textMode, String text, String tooltip, boolean unknown)
+    {
+        this.textColor = textColor;
+        this.textMode = textMode;
+        this.text = text;
+        this.tooltip = tooltip;
+        this.unknown = unknown;
+    }
+
+    TimerState on(TimerEvent event)
+    {
+        return TRANSITIONS[ordinal()][event.ordinal()];
+    }
+
+    String tooltip(String timerText)
+    {
+        return textMode == TextMode.COUNTDOWN ? String.format(tooltip, timerText) : tooltip;
+    }
+}
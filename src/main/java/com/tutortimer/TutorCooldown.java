@@ -0,0 +1,155 @@
+package com.tutortimer;
+
+/**
+ * One account's cooldown as the tutors report it: the claim, intro, rejection and
+ * stale-claim rules. The plugin drives one for the info box and persists it; the headless
+ * tracker drives one per account. Client-free, and never reads a clock: every call is
+ * given the time in epoch millis.
+ */
+final class TutorCooldown
+{
+    private static final long COOLDOWN_MS = TimerState.COOLDOWN.toMillis();
+    private static final long NONE = Long.MIN_VALUE;
+
+    private TimerState state = TimerState.UNTRACKED;
+    private long claimedAtMillis = NONE;
+    // when a tutor last confirmed a cooldown without saying how long is left
+    private long knownSinceMillis = NONE;
+
+    void apply(TutorMessage message, long now)
+    {
+        switch (message)
+        {
+            case CLAIM:
+                claim(now);
+                break;
+            case INTRO:
+                clearStaleClaim(now);
+                // an intro only tells us something when there is no claim to count down from
+                if (state.unknown) confirm(now);
+                break;
+            case COOLDOWN_REJECT:
+                clearStaleClaim(now);
+                // during a tracked claim this only confirms it; the claim time is still exact
+                confirm(now);
+                break;
+        }
+    }
+
+    // Runes or arrows were handed out at the given time, or a saved claim was restored.
+    void claim(long claimedAt)
+    {
+        claimedAtMillis = claimedAt;
+        knownSinceMillis = NONE;
+        state = state.on(TimerEvent.CLAIM);
+    }
+
+    /**
+     * Restores a cooldown a tutor confirmed at {@code seenAt}. It only applies when no claim
+     * is being tracked, and is dropped if it has already lapsed.
+     */
+    void restoreKnownCooldown(long seenAt, long now)
+    {
+        knownSinceMillis = seenAt;
+        if (!isKnownCooldownActive(now))
+        {
+            knownSinceMillis = NONE;
+            state = state.on(TimerEvent.KNOWN_EXPIRED);
+        }
+        else if (state.unknown)
+        {
+            state = state.on(TimerEvent.COOLDOWN_CONFIRMED);
+        }
+    }
+
+    // Discards everything, e.g. a claim that may belong to another account.
+    void reset()
+    {
+        claimedAtMillis = NONE;
+        knownSinceMillis = NONE;
+        state = state.on(TimerEvent.RESET);
+    }
+
+    // The state with any claim expiry applied.
+    TimerState state(long now)
+    {
+        if (state == TimerState.COUNTING && now >= claimReadyAtMillis())
+        {
+            state = state.on(TimerEvent.CLAIM_EXPIRED);
+        }
+        return state;
+    }
+
+    // The state as of the last change, without applying expiry.
+    TimerState state()
+    {
+        return state;
+    }
+
+    // Lets a lapsed unknown-length cooldown go back to untracked. Returns true if it did.
+    boolean expireKnownCooldown(long now)
+    {
+        if (state != TimerState.UNKNOWN_COOLDOWN || isKnownCooldownActive(now)) return false;
+        knownSinceMillis = NONE;
+        state = state.on(TimerEvent.KNOWN_EXPIRED);
+        return true;
+    }
+
+    /**
+     * When this cooldown next changes by itself: the claim's end while counting, the upper
+     * bound while on an unknown cooldown, otherwise Long.MAX_VALUE.
+     */
+    long nextDeadline()
+    {
+        if (state == TimerState.COUNTING) return claimReadyAtMillis();
+        if (state == TimerState.UNKNOWN_COOLDOWN) return knownSinceMillis + COOLDOWN_MS;
+        return Long.MAX_VALUE;
+    }
+
+    // True when nextDeadline is the end of a claim rather than an upper bound.
+    boolean isExact()
+    {
+        return state == TimerState.COUNTING;
+    }
+
+    boolean hasClaim()
+    {
+        return claimedAtMillis != NONE;
+    }
+
+    long claimedAtMillis()
+    {
+        return claimedAtMillis;
+    }
+
+    long claimReadyAtMillis()
+    {
+        return claimedAtMillis + COOLDOWN_MS;
+    }
+
+    boolean hasKnownCooldown()
+    {
+        return knownSinceMillis != NONE;
+    }
+
+    long knownSinceMillis()
+    {
+        return knownSinceMillis;
+    }
+
+    private boolean isKnownCooldownActive(long now)
+    {
+        return hasKnownCooldown() && now < knownSinceMillis + COOLDOWN_MS;
+    }
+
+    private void clearStaleClaim(long now)
+    {
+        if (state(now) == TimerState.READY) reset();
+    }
+
+    private void confirm(long now)
+    {
+        knownSinceMillis = now;
+        state = state.on(TimerEvent.COOLDOWN_CONFIRMED);
+    }
+}
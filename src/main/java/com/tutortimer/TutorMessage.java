@@ -0,0 +1,54 @@
+package com.tutortimer;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Tutor chat lines the tracker reacts to. Shared by the plugin and the headless
+ * chat log tracker so both recognise exactly the same messages.
+ */
+enum TutorMessage
+{
+    // runes or arrows were handed out; the cooldown starts now
+    CLAIM,
+    // the tutor greeted us; we may or may not be on cooldown
+    INTRO,
+    // the tutor refused because we're still on cooldown
+    COOLDOWN_REJECT;
+
+    private static final String MIKASI_GIVES = "Mikasi gives you";
+    private static final String NEMARTI_GIVES = "Nemarti gives you";
+    private static final String RANGED_INTRO = "I work with the Ranged Combat tutor";
+    private static final String MAGIC_INTRO = "I work with the Magic tutor";
+    private static final String COOLDOWN_REJECT_TEXT = "every half an hour";
+
+    // Returns the matching message, or null if the line isn't one of ours.
+    static TutorMessage match(String msg)
+    {
+        if (msg.contains(MIKASI_GIVES) || msg.contains(NEMARTI_GIVES)) return CLAIM;
+        if (msg.contains(RANGED_INTRO) || msg.contains(MAGIC_INTRO)) return INTRO;
+        if (msg.contains(COOLDOWN_REJECT_TEXT)) return COOLDOWN_REJECT;
+        return null;
+    }
+
+    // A tutor log line: the ISO-8601 instant the message was seen, a space, then the message.
+    static String logLine(long at, String msg)
+    {
+        return Instant.ofEpochMilli(at) + " " + msg.replace('\n', ' ');
+    }
+
+    // The time a tutor log line was written, or the fallback for a line without one.
+    static long logTime(String line, long fallback)
+    {
+        int space = line.indexOf(' ');
+        if (space < 0) return fallback;
+        try
+        {
+            return Instant.parse(line.substring(0, space)).toEpochMilli();
+        }
+        catch (DateTimeParseException e)
+        {
+            return fallback;
+        }
+    }
+}
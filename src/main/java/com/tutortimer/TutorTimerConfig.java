@@ -3,6 +3,7 @@ package com.tutortimer;
 import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
+import net.runelite.client.config.Range;
 
 @ConfigGroup("tutortimer")
 public interface TutorTimerConfig extends Config
@@ -50,4 +51,52 @@ public interface TutorTimerConfig extends Config
     {
         return true;
     }
+
+    @ConfigItem(
+        keyName = "showOverlay",
+        name = "Show above tutors",
+        description = "Draw the remaining time above the Magic and Ranged combat tutors in Lumbridge",
+        position = 4
+    )
+    default boolean showOverlay()
+    {
+        return true;
+    }
+
+    @ConfigItem(
+        keyName = "showFleetPanel",
+        name = "Show fleet sidebar",
+        description = "Add a sidebar listing which of your accounts can claim next, once more than one account has been tracked",
+        position = 5
+    )
+    default boolean showFleetPanel()
+    {
+        return true;
+    }
+
+    @Range(
+        min = 0,
+        max = 25
+    )
+    @ConfigItem(
+        keyName = "fleetSize",
+        name = "Accounts in tooltip",
+        description = "How many upcoming accounts to list in the info box tooltip when tracking more than one account",
+        position = 6
+    )
+    default int fleetSize()
+    {
+        return 3;
+    }
+
+    @ConfigItem(
+        keyName = "writeTutorLog",
+        name = "Write log for headless mode",
+        description = "Append each tutor claim and rejection to .runelite/tutortimer/<account>/latest.log for the headless tracker",
+        position = 7
+    )
+    default boolean writeTutorLog()
+    {
+        return false;
+    }
 }
@@ -31,8 +31,6 @@ public class TutorTimerInfoBox extends InfoBox
     @Override
     public Color getTextColor()
     {
-        if (plugin.isReady()) return Color.GREEN;
-        if (plugin.isUnknown()) return Color.YELLOW;
-        return Color.WHITE;
+        return plugin.currentState().textColor;
     }
 }
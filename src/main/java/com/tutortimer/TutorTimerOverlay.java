@@ -0,0 +1,55 @@
+package com.tutortimer;
+
+import net.runelite.api.NPC;
+import net.runelite.api.Point;
+import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.ui.overlay.OverlayLayer;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.OverlayUtil;
+
+import javax.inject.Inject;
+import java.awt.*;
+import java.util.Collection;
+
+/**
+ * Draws the countdown above the Magic and Ranged combat tutors. Every frame outside
+ * Lumbridge returns after a single field check; the tutor NPCs themselves are cached
+ * by the plugin from spawn/despawn events rather than looked up here.
+ */
+public class TutorTimerOverlay extends Overlay
+{
+    private static final int TEXT_Z_OFFSET = 40;
+
+    private final TutorTimerPlugin plugin;
+    private final TutorTimerConfig config;
+
+    @Inject
+    TutorTimerOverlay(TutorTimerPlugin plugin, TutorTimerConfig config)
+    {
+        this.plugin = plugin;
+        this.config = config;
+        setPosition(OverlayPosition.DYNAMIC);
+        setLayer(OverlayLayer.ABOVE_SCENE);
+    }
+
+    @Override
+    public Dimension render(Graphics2D graphics)
+    {
+        if (!plugin.isInTutorRegion()) return null;
+
+        Collection<NPC> tutors = plugin.getTutorNpcs();
+        if (tutors.isEmpty() || !config.showOverlay()) return null;
+
+        String text = plugin.getTimerText();
+        Color color = plugin.currentState().textColor;
+        for (NPC npc : tutors)
+        {
+            Point location = npc.getCanvasTextLocation(graphics, text, npc.getLogicalHeight() + TEXT_Z_OFFSET);
+            if (location != null)
+            {
+                OverlayUtil.renderTextLocation(graphics, location, text, color);
+            }
+        }
+        return null;
+    }
+}
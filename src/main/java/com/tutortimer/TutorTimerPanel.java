@@ -0,0 +1,82 @@
+package com.tutortimer;
+
+import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.ui.FontManager;
+import net.runelite.client.ui.PluginPanel;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Sidebar listing which accounts can claim now and which come off cooldown next.
+ * Times are shown as wall-clock times, so the list stays correct between refreshes
+ * and while logged out for a rotation.
+ */
+class TutorTimerPanel extends PluginPanel
+{
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm")
+        .withZone(ZoneId.systemDefault());
+
+    private final JPanel rows = new JPanel(new GridLayout(0, 1, 0, 2));
+
+    TutorTimerPanel()
+    {
+        setLayout(new BorderLayout());
+        rows.setBackground(ColorScheme.DARK_GRAY_COLOR);
+        add(rows, BorderLayout.NORTH);
+    }
+
+    // Swing thread only. The lists are snapshots taken on the client thread.
+    void update(List<FleetScheduler.Deadline> ready, int readyCount, List<FleetScheduler.Deadline> upcoming)
+    {
+        rows.removeAll();
+
+        rows.add(header("Ready now (" + readyCount + ")"));
+        for (FleetScheduler.Deadline deadline : ready)
+        {
+            rows.add(row(deadline.account, "Ready!", Color.GREEN));
+        }
+        if (readyCount > ready.size())
+        {
+            rows.add(row("+" + (readyCount - ready.size()) + " more", "", Color.GREEN));
+        }
+
+        rows.add(header("Up next"));
+        for (FleetScheduler.Deadline deadline : upcoming)
+        {
+            String time = TIME.format(Instant.ofEpochMilli(deadline.readyAtMillis));
+            rows.add(row(deadline.account, deadline.exact ? time : "by " + time,
+                deadline.exact ? Color.WHITE : Color.YELLOW));
+        }
+
+        rows.revalidate();
+        rows.repaint();
+    }
+
+    private static JLabel header(String text)
+    {
+        JLabel label = new JLabel(text);
+        label.setFont(FontManager.getRunescapeBoldFont());
+        label.setBorder(new EmptyBorder(6, 0, 2, 0));
+        return label;
+    }
+
+    private static JPanel row(String account, String time, Color color)
+    {
+        JPanel row = new JPanel(new BorderLayout());
+        row.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+        row.setBorder(new EmptyBorder(4, 6, 4, 6));
+
+        JLabel name = new JLabel(account);
+        JLabel when = new JLabel(time);
+        when.setForeground(color);
+        row.add(name, BorderLayout.WEST);
+        row.add(when, BorderLayout.EAST);
+        return row;
+    }
+}
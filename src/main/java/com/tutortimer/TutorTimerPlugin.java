@@ -1,21 +1,49 @@
 package com.tutortimer;
 
 import net.runelite.api.ChatMessageType;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.WorldView;
 import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.gameval.NpcID;
 import net.runelite.client.Notifier;
+import net.runelite.client.RuneLite;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.ui.ClientToolbar;
+import net.runelite.client.ui.NavigationButton;
+import net.runelite.client.ui.overlay.OverlayManager;
 import net.runelite.client.ui.overlay.infobox.InfoBoxManager;
 
 import javax.inject.Inject;
+import javax.swing.SwingUtilities;
 import java.awt.image.BufferedImage;
-import java.time.Duration;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,17 +57,18 @@ import com.google.inject.Provides;
 )
 public class TutorTimerPlugin extends Plugin
 {
-    static final Duration COOLDOWN = Duration.ofMinutes(30);
     private static final String CONFIG_GROUP = "tutortimer";
     private static final String LAST_CLAIM_KEY = "lastClaim";
     private static final String LAST_KNOWN_COOLDOWN_KEY = "lastKnownCooldown";
     private static final String LAST_SHUTDOWN_KEY = "lastShutdown";
+    private static final String FLEET_KEY = "fleet";
 
-    private static final String MIKASI_GIVES = "Mikasi gives you";
-    private static final String NEMARTI_GIVES = "Nemarti gives you";
-    private static final String COOLDOWN_REJECT = "every half an hour";
+    static final long KNOWN_COOLDOWN_CHECK_INTERVAL_MS = 60_000L;
 
-    private static final long KNOWN_COOLDOWN_CHECK_INTERVAL_MS = 60_000L;
+    private static final int LUMBRIDGE_REGION = 12850;
+    private static final int MIND_RUNE = 558;
+    private static final int PANEL_ROWS = 25;
+    private static final String TUTOR_LOG = "latest.log";
 
     @Provides
     TutorTimerConfig provideConfig(ConfigManager configManager)
@@ -47,19 +76,47 @@ public class TutorTimerPlugin extends Plugin
         return configManager.getConfig(TutorTimerConfig.class);
     }
 
+    @Inject private Client client;
+    @Inject private ClientThread clientThread;
     @Inject private ConfigManager configManager;
     @Inject private InfoBoxManager infoBoxManager;
     @Inject private ItemManager itemManager;
     @Inject private Notifier notifier;
+    @Inject private OverlayManager overlayManager;
+    @Inject private ClientToolbar clientToolbar;
+    @Inject private TutorTimerOverlay overlay;
     @Inject private TutorTimerConfig config;
+    @Inject private ScheduledExecutorService executor;
 
-    // use Optionals rather than nullable fields; avoids any risk of NPEs
-    private java.util.Optional<Instant> lastClaimTime = java.util.Optional.empty();
-    private java.util.Optional<Instant> lastKnownCooldownTime = java.util.Optional.empty();
-    private boolean knownOnCooldown;
+    // this profile's cooldown; the rules are shared with the headless tracker
+    private final TutorCooldown cooldown = new TutorCooldown();
     private boolean notifiedReady;
     private TutorTimerInfoBox infoBox;
     private long lastKnownCooldownExpiryCheck;
+    // while logged out nothing is evaluated or rendered; deadlines just wait for the next login
+    private boolean idle;
+    // Mikasi and Nemarti by NPC index, maintained from spawn events so the overlay never searches
+    private final Map<Integer, NPC> tutorNpcs = new HashMap<>();
+    private boolean inTutorRegion;
+    // written on the Swing thread by startUp and shutDown, read by the seed task on the client thread
+    private volatile boolean started;
+    // last formatted countdown; a new string is only built when the displayed value changes
+    private volatile Countdown countdown;
+    // next-ready deadlines for every account seen claiming or being turned away on this profile
+    private final FleetScheduler fleet = new FleetScheduler();
+    // built on the Swing thread the first time a second account shows up, and only touched there
+    private TutorTimerPanel panel;
+    private NavigationButton navButton;
+    private boolean navButtonShown;
+    private long panelVersion = -1L;
+    // set when the fleet changed since it was last written to config
+    private boolean fleetDirty;
+    private volatile FleetTooltip fleetTooltip;
+
+    // all time reads go through this so tests can drive a virtual clock
+    private Clock clock = Clock.systemUTC();
+    // where writeTutorLog puts each account's tutor messages. Package-private for tests.
+    Path tutorLogDir = RuneLite.RUNELITE_DIR.toPath().resolve("tutortimer");
 
     @Override
     protected void startUp()
@@ -67,7 +124,12 @@ public class TutorTimerPlugin extends Plugin
         try
         {
             loadLastClaimTime();
-            addInfoBox();
+            idle = client != null && isIdle(client.getGameState());
+            if (!idle) addInfoBox();
+            started = true;
+            // NPCs already spawned before the plugin was enabled never fire NpcSpawned
+            clientThread.invoke(this::seedTutorNpcs);
+            overlayManager.add(overlay);
         }
         catch (Exception ex)
         {
@@ -80,9 +142,22 @@ public class TutorTimerPlugin extends Plugin
     {
         try
         {
+            started = false;
             configManager.setConfiguration(CONFIG_GROUP, LAST_SHUTDOWN_KEY,
-                String.valueOf(System.currentTimeMillis()));
+                String.valueOf(clock.millis()));
+            saveFleet();
             removeInfoBox();
+            hideFleetPanel();
+            // queued behind the removal; the next session builds its own once it needs one
+            SwingUtilities.invokeLater(() ->
+            {
+                navButton = null;
+                panel = null;
+            });
+            // this runs on the Swing thread; the overlay reads the tutors on the client thread, so
+            // stop drawing first and leave the map to the client thread, after any queued seed
+            overlayManager.remove(overlay);
+            clientThread.invoke(tutorNpcs::clear);
         }
         catch (Exception ex)
         {
@@ -99,6 +174,7 @@ public class TutorTimerPlugin extends Plugin
         loadLastClaimTimeFromConfig();
         loadLastKnownCooldownFromConfig();
         detectStaleClaim();
+        loadFleet();
         if (configManager != null)
         {
             configManager.unsetConfiguration(CONFIG_GROUP, LAST_SHUTDOWN_KEY);
@@ -110,8 +186,8 @@ public class TutorTimerPlugin extends Plugin
         String saved = configManager.getConfiguration(CONFIG_GROUP, LAST_CLAIM_KEY);
         if (saved != null)
         {
-            try { lastClaimTime = java.util.Optional.of(Instant.ofEpochMilli(Long.parseLong(saved))); }
-            catch (NumberFormatException e) { lastClaimTime = java.util.Optional.empty(); }
+            try { restoreClaim(Instant.ofEpochMilli(Long.parseLong(saved))); }
+            catch (NumberFormatException e) { cooldown.reset(); }
         }
     }
 
@@ -122,38 +198,54 @@ public class TutorTimerPlugin extends Plugin
         {
             try
             {
-                lastKnownCooldownTime = java.util.Optional.of(Instant.ofEpochMilli(Long.parseLong(savedKnown)));
-                if (lastClaimTime.isEmpty() && isKnownCooldownActive())
-                {
-                    knownOnCooldown = true;
-                }
-                else if (!isKnownCooldownActive())
+                // the plugin instance is reused across restarts, so this also drops state left over from last session
+                cooldown.restoreKnownCooldown(Long.parseLong(savedKnown), clock.millis());
+                if (!cooldown.hasKnownCooldown())
                 {
-                    lastKnownCooldownTime = java.util.Optional.empty();
-                    if (configManager != null)
-                    {
-                        configManager.unsetConfiguration(CONFIG_GROUP, LAST_KNOWN_COOLDOWN_KEY);
-                    }
+                    configManager.unsetConfiguration(CONFIG_GROUP, LAST_KNOWN_COOLDOWN_KEY);
                 }
             }
-            catch (NumberFormatException e) { lastKnownCooldownTime = java.util.Optional.empty(); }
+            catch (NumberFormatException e)
+            {
+                log.warn("Ignoring malformed timestamp '{}' for key '{}' in config group '{}'",
+                    savedKnown, LAST_KNOWN_COOLDOWN_KEY, CONFIG_GROUP);
+            }
         }
     }
 
+    private void loadFleet()
+    {
+        fleet.clear();
+        fleetDirty = false;
+        String saved = configManager.getConfiguration(CONFIG_GROUP, FLEET_KEY);
+        if (saved == null || saved.isEmpty()) return;
+
+        for (String entry : saved.split(";"))
+        {
+            String[] parts = entry.split(",");
+            try
+            {
+                fleet.schedule(parts[0], Long.parseLong(parts[1]), Boolean.parseBoolean(parts[2]));
+            }
+            catch (NumberFormatException | ArrayIndexOutOfBoundsException e)
+            {
+                log.warn("Ignoring malformed entry '{}' for key '{}' in config group '{}'", entry, FLEET_KEY, CONFIG_GROUP);
+            }
+        }
+        fleet.advance(clock.millis());
+    }
+
     private void detectStaleClaim()
     {
         String savedShutdown = configManager.getConfiguration(CONFIG_GROUP, LAST_SHUTDOWN_KEY);
-        if (savedShutdown != null && lastClaimTime.isPresent())
+        if (savedShutdown != null && cooldown.hasClaim())
         {
             try
             {
-                Instant shutdown = Instant.ofEpochMilli(Long.parseLong(savedShutdown));
-                Instant expire = lastClaimTime.get().plus(COOLDOWN);
-                if (shutdown.isAfter(lastClaimTime.get()) && shutdown.isBefore(expire))
+                long shutdown = Long.parseLong(savedShutdown);
+                if (shutdown > cooldown.claimedAtMillis() && shutdown < cooldown.claimReadyAtMillis())
                 {
-                    lastClaimTime = java.util.Optional.empty();
-                    knownOnCooldown = false;
-                    lastKnownCooldownTime = java.util.Optional.empty();
+                    cooldown.reset();
                     if (configManager != null)
                     {
                         configManager.unsetConfiguration(CONFIG_GROUP, LAST_CLAIM_KEY);
@@ -173,12 +265,84 @@ public class TutorTimerPlugin extends Plugin
         }
     }
 
-    private void saveLastClaimTime()
+    // Start counting down from the given claim time. Package-private for tests.
+    void restoreClaim(Instant claim)
+    {
+        cooldown.claim(claim.toEpochMilli());
+    }
+
+    // The claim and known cooldown as persisted. Package-private for tests.
+    java.util.Optional<Instant> lastClaimTime()
+    {
+        return cooldown.hasClaim()
+            ? java.util.Optional.of(Instant.ofEpochMilli(cooldown.claimedAtMillis()))
+            : java.util.Optional.empty();
+    }
+
+    java.util.Optional<Instant> lastKnownCooldownTime()
+    {
+        return cooldown.hasKnownCooldown()
+            ? java.util.Optional.of(Instant.ofEpochMilli(cooldown.knownSinceMillis()))
+            : java.util.Optional.empty();
+    }
+
+    // Record the logged-in account's next-ready time. The fleet is written back by saveFleet, at most once a tick.
+    private void scheduleAccount(long readyAtMillis, boolean exact)
+    {
+        String account = accountName();
+        if (account == null) return;
+
+        if (fleet.schedule(account, readyAtMillis, exact)) fleetDirty = true;
+    }
+
+    // A tutor confirmed the logged-in account is on cooldown without saying how long. The profile's
+    // claim may be another account's, so only this account's own pending claim stays exact, and
+    // only while it ends within a cooldown from now; otherwise the deadline is the upper bound.
+    private void scheduleConfirmedCooldown(long now)
     {
-        if (lastClaimTime.isPresent())
+        String account = accountName();
+        if (account == null) return;
+
+        long bound = now + TimerState.COOLDOWN.toMillis();
+        FleetScheduler.Deadline own = fleet.deadline(account);
+        if (own != null && own.exact && own.readyAtMillis > now && own.readyAtMillis <= bound) return;
+        scheduleAccount(bound, false);
+    }
+
+    // Writes every account's deadline in one config value, O(n), and only if something changed.
+    private void saveFleet()
+    {
+        if (!fleetDirty) return;
+        fleetDirty = false;
+
+        StringBuilder saved = new StringBuilder();
+        for (FleetScheduler.Deadline deadline : fleet.deadlines())
         {
-            configManager.setConfiguration(CONFIG_GROUP, LAST_CLAIM_KEY,
-                String.valueOf(lastClaimTime.get().toEpochMilli()));
+            if (saved.length() > 0) saved.append(';');
+            saved.append(deadline.account).append(',').append(deadline.readyAtMillis).append(',').append(deadline.exact);
+        }
+        configManager.setConfiguration(CONFIG_GROUP, FLEET_KEY, saved.toString());
+    }
+
+    // Mirrors the claim and known cooldown into config after a tutor message moved them.
+    private void saveCooldown()
+    {
+        if (cooldown.hasClaim())
+        {
+            configManager.setConfiguration(CONFIG_GROUP, LAST_CLAIM_KEY, String.valueOf(cooldown.claimedAtMillis()));
+        }
+        else
+        {
+            configManager.unsetConfiguration(CONFIG_GROUP, LAST_CLAIM_KEY);
+        }
+
+        if (cooldown.hasKnownCooldown())
+        {
+            configManager.setConfiguration(CONFIG_GROUP, LAST_KNOWN_COOLDOWN_KEY, String.valueOf(cooldown.knownSinceMillis()));
+        }
+        else
+        {
+            configManager.unsetConfiguration(CONFIG_GROUP, LAST_KNOWN_COOLDOWN_KEY);
         }
     }
 
@@ -187,7 +351,7 @@ public class TutorTimerPlugin extends Plugin
         try
         {
             removeInfoBox();
-            BufferedImage icon = itemManager.getImage(558);
+            BufferedImage icon = itemManager.getImage(MIND_RUNE);
             infoBox = new TutorTimerInfoBox(icon, this);
             infoBoxManager.addInfoBox(infoBox);
         }
@@ -206,110 +370,234 @@ public class TutorTimerPlugin extends Plugin
         }
     }
 
+    // Runs on the Swing thread. Most profiles only ever track one account, so this waits until a second one shows up.
+    private void buildFleetPanel()
+    {
+        if (navButton != null) return;
+        panel = new TutorTimerPanel();
+        navButton = NavigationButton.builder()
+            .tooltip("Tutor Timer")
+            .icon(itemManager.getImage(MIND_RUNE))
+            .priority(10)
+            .panel(panel)
+            .build();
+    }
+
+    private void showFleetPanel()
+    {
+        if (navButtonShown) return;
+        navButtonShown = true;
+        panelVersion = -1L;
+        SwingUtilities.invokeLater(() ->
+        {
+            buildFleetPanel();
+            clientToolbar.addNavigation(navButton);
+        });
+    }
+
+    private void hideFleetPanel()
+    {
+        if (!navButtonShown) return;
+        navButtonShown = false;
+        SwingUtilities.invokeLater(() -> clientToolbar.removeNavigation(navButton));
+    }
+
+    // Only rebuilds the sidebar when an account was rescheduled or came due.
+    private void updateFleetPanel()
+    {
+        boolean shouldShow = config.showFleetPanel() && fleet.size() > 1;
+        if (!shouldShow)
+        {
+            hideFleetPanel();
+            return;
+        }
+        showFleetPanel();
+
+        long version = fleet.version();
+        if (version == panelVersion) return;
+        panelVersion = version;
+
+        List<FleetScheduler.Deadline> ready = fleet.readyNow(PANEL_ROWS);
+        int readyCount = fleet.readyCount();
+        List<FleetScheduler.Deadline> upcoming = fleet.nextReady(PANEL_ROWS);
+        // queued behind the build in showFleetPanel, so the panel exists by the time this runs
+        SwingUtilities.invokeLater(() -> panel.update(ready, readyCount, upcoming));
+    }
+
     // --- Event handlers ---
 
     @Subscribe
-    public void onChatMessage(ChatMessage event)
+    public void onGameStateChanged(GameStateChanged event)
     {
-        ChatMessageType type = event.getType();
-        if (type != ChatMessageType.DIALOG
-            && type != ChatMessageType.GAMEMESSAGE
-
-            && type != ChatMessageType.MESBOX) return;
+        if (event.getGameState() == GameState.LOGGED_IN)
+        {
+            // loaded regions only change across a LOADING -> LOGGED_IN transition
+            inTutorRegion = isTutorRegionLoaded();
+        }
 
-        String msg = event.getMessage();
+        boolean wasIdle = idle;
+        idle = isIdle(event.getGameState());
+        if (event.getGameState() == GameState.LOGIN_SCREEN || event.getGameState() == GameState.HOPPING)
+        {
+            // the scene is rebuilt from scratch after these; CONNECTION_LOST keeps it
+            tutorNpcs.clear();
+            inTutorRegion = false;
+        }
 
-        if (msg.contains(MIKASI_GIVES) || msg.contains(NEMARTI_GIVES))
+        if (idle && !wasIdle)
         {
-            handleTutorClaim();
+            // no ticks while logged out, so don't leave a claim from this session unsaved
+            saveFleet();
+            removeInfoBox();
         }
-        else if (msg.contains("I work with the Ranged Combat tutor")
-              || msg.contains("I work with the Magic tutor"))
+        else if (!idle && wasIdle)
         {
-            handleTutorIntro();
+            // catch up on everything that came due while logged out in one pass
+            lastKnownCooldownExpiryCheck = 0L;
+            update();
         }
-        else if (msg.contains(COOLDOWN_REJECT))
+    }
+
+    @Subscribe
+    public void onNpcSpawned(NpcSpawned event)
+    {
+        NPC npc = event.getNpc();
+        if (isTutor(npc.getId()))
         {
-            handleCooldownRejection();
+            tutorNpcs.put(npc.getIndex(), npc);
         }
     }
 
-    private void handleTutorClaim()
+    @Subscribe
+    public void onNpcDespawned(NpcDespawned event)
     {
-        lastClaimTime = java.util.Optional.of(Instant.now());
-        knownOnCooldown = true;
-        notifiedReady = false;
-        saveLastClaimTime();
-        lastKnownCooldownTime = java.util.Optional.empty();
-        if (configManager != null)
+        NPC npc = event.getNpc();
+        if (isTutor(npc.getId()))
         {
-            configManager.unsetConfiguration(CONFIG_GROUP, LAST_KNOWN_COOLDOWN_KEY);
+            tutorNpcs.remove(npc.getIndex(), npc);
         }
     }
 
-    private void handleTutorIntro()
+    @Subscribe
+    public void onChatMessage(ChatMessage event)
     {
-        clearStaleClaim();
-        if (lastClaimTime.isEmpty())
+        if (idle) return;
+
+        ChatMessageType type = event.getType();
+        if (type != ChatMessageType.DIALOG
+            && type != ChatMessageType.GAMEMESSAGE
+
+            && type != ChatMessageType.MESBOX) return;
+
+        TutorMessage message = TutorMessage.match(event.getMessage());
+        if (message == null) return;
+        if (config.writeTutorLog()) writeTutorLog(event.getMessage());
+
+        long now = clock.millis();
+        cooldown.apply(message, now);
+        if (message == TutorMessage.CLAIM) notifiedReady = false;
+        saveCooldown();
+
+        switch (message)
         {
-            lastKnownCooldownTime = java.util.Optional.of(Instant.now());
-            knownOnCooldown = true;
-            configManager.setConfiguration(CONFIG_GROUP, LAST_KNOWN_COOLDOWN_KEY,
-                String.valueOf(lastKnownCooldownTime.get().toEpochMilli()));
+            case CLAIM:
+                scheduleAccount(cooldown.claimReadyAtMillis(), true);
+                break;
+            case INTRO:
+            case COOLDOWN_REJECT:
+                scheduleConfirmedCooldown(now);
+                break;
         }
     }
 
-    private void handleCooldownRejection()
+    // One line per tutor message, in the layout TutorTimerHeadless tails. The file IO runs on the executor.
+    private void writeTutorLog(String message)
     {
-        clearStaleClaim();
-        lastKnownCooldownTime = java.util.Optional.of(Instant.now());
-        knownOnCooldown = true;
-        configManager.setConfiguration(CONFIG_GROUP, LAST_KNOWN_COOLDOWN_KEY,
-            String.valueOf(lastKnownCooldownTime.get().toEpochMilli()));
+        String account = accountName();
+        if (account == null) return;
+
+        Path dir = tutorLogDir.resolve(account.replace('\u00A0', ' '));
+        long at = clock.millis();
+        String line = TutorMessage.logLine(at, message) + "\n";
+        executor.execute(() -> appendTutorLog(dir, at, line));
     }
 
-    // If the previous claim has expired, clear it so new tracking can start.
-    private void clearStaleClaim()
+    // Like Chat Logger, latest.log only holds one day; it is rolled over to <date>.log on the first line of a new day.
+    private static void appendTutorLog(Path dir, long at, String line)
     {
-        if (lastClaimTime.isPresent() && isReady())
+        Path latest = dir.resolve(TUTOR_LOG);
+        try
         {
-            lastClaimTime = java.util.Optional.empty();
-            knownOnCooldown = false;
-            lastKnownCooldownTime = java.util.Optional.empty();
-            if (configManager != null)
+            Files.createDirectories(dir);
+            LocalDate started = tutorLogDay(latest);
+            if (started != null && started.isBefore(localDate(at)))
             {
-                configManager.unsetConfiguration(CONFIG_GROUP, LAST_CLAIM_KEY);
-                configManager.unsetConfiguration(CONFIG_GROUP, LAST_KNOWN_COOLDOWN_KEY);
+                Path rolled = dir.resolve(started + ".log");
+                for (int i = 1; Files.exists(rolled); i++)
+                {
+                    rolled = dir.resolve(started + "." + i + ".log");
+                }
+                Files.move(latest, rolled);
             }
+            Files.write(latest, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        catch (IOException e)
+        {
+            log.warn("Unable to write tutor log {}", latest, e);
         }
     }
 
+    // The day latest.log was started, from its first line; null if there is nothing to roll over.
+    private static LocalDate tutorLogDay(Path latest) throws IOException
+    {
+        if (!Files.exists(latest)) return null;
+        try (BufferedReader reader = Files.newBufferedReader(latest, StandardCharsets.UTF_8))
+        {
+            String first = reader.readLine();
+            if (first == null) return null;
+            // logs from before lines were timestamped fall back to when the file was last written
+            return localDate(TutorMessage.logTime(first, Files.getLastModifiedTime(latest).toMillis()));
+        }
+    }
+
+    private static LocalDate localDate(long millis)
+    {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
     @Subscribe
     public void onGameTick(GameTick event)
     {
-        if (config.notifyOnReady() && !notifiedReady && isReady())
+        if (idle) return;
+        update();
+    }
+
+    private void update()
+    {
+        boolean ready = currentState() == TimerState.READY;
+        if (config.notifyOnReady() && !notifiedReady && ready)
         {
             notifier.notify("Your free runes or arrows are ready to claim!");
             notifiedReady = true;
         }
 
-        boolean shouldShow = config.showInfoBox() && (!config.showWhenReady() || isReady());
+        boolean shouldShow = config.showInfoBox() && (!config.showWhenReady() || ready);
         if (!shouldShow) removeInfoBox();
         else if (infoBox == null) addInfoBox();
 
+        // O(1) unless an account came due since the last tick
+        long now = clock.millis();
+        fleet.advance(now);
+        updateFleetPanel();
+        saveFleet();
+
         // Throttled: clear persisted known-cooldown when it expires
-        long now = System.currentTimeMillis();
         if (now - lastKnownCooldownExpiryCheck >= KNOWN_COOLDOWN_CHECK_INTERVAL_MS)
         {
             lastKnownCooldownExpiryCheck = now;
-            if (lastClaimTime.isEmpty() && lastKnownCooldownTime.isPresent() && !isKnownCooldownActive())
+            if (cooldown.expireKnownCooldown(now) && configManager != null)
             {
-                lastKnownCooldownTime = java.util.Optional.empty();
-                knownOnCooldown = false;
-                if (configManager != null)
-                {
-                    configManager.unsetConfiguration(CONFIG_GROUP, LAST_KNOWN_COOLDOWN_KEY);
-                }
+                configManager.unsetConfiguration(CONFIG_GROUP, LAST_KNOWN_COOLDOWN_KEY);
             }
         }
     }
@@ -317,7 +605,7 @@ public class TutorTimerPlugin extends Plugin
     @Subscribe
     public void onConfigChanged(ConfigChanged event)
     {
-        if (CONFIG_GROUP.equals(event.getGroup()))
+        if (!idle && CONFIG_GROUP.equals(event.getGroup()))
         {
             removeInfoBox();
         }
@@ -327,46 +615,182 @@ public class TutorTimerPlugin extends Plugin
 
     public String getTooltipText()
     {
-        if (lastClaimTime.isEmpty() && !knownOnCooldown)
-            return "Tutor Timer - claim runes or arrows to start tracking";
-        if (lastClaimTime.isEmpty())
-            return "Tutor Timer - on cooldown, but unknown time remaining";
-        if (isReady())
-            return "Tutor Timer - ready to claim!";
-        return "Tutor Timer - " + getTimerText() + " remaining";
+        String tooltip = currentState().tooltip(getTimerText());
+        return fleet.size() > 1 ? tooltip + getFleetTooltip() : tooltip;
+    }
+
+    // Ready and upcoming accounts, rebuilt only when the fleet changes or a minute passes.
+    private String getFleetTooltip()
+    {
+        long now = clock.millis();
+        long minute = now / 60_000L;
+        int size = config.fleetSize();
+        long version = fleet.version();
+
+        FleetTooltip cached = fleetTooltip;
+        if (cached == null || cached.version != version || cached.minute != minute || cached.size != size)
+        {
+            StringBuilder text = new StringBuilder();
+            List<FleetScheduler.Deadline> ready = fleet.readyNow(size);
+            if (!ready.isEmpty())
+            {
+                text.append("</br>Ready now: ");
+                for (int i = 0; i < ready.size(); i++)
+                {
+                    if (i > 0) text.append(", ");
+                    text.append(ready.get(i).account);
+                }
+                int more = fleet.readyCount() - ready.size();
+                if (more > 0) text.append(" +").append(more);
+            }
+            List<FleetScheduler.Deadline> upcoming = fleet.nextReady(size);
+            if (!upcoming.isEmpty())
+            {
+                text.append("</br>Next: ");
+                for (int i = 0; i < upcoming.size(); i++)
+                {
+                    FleetScheduler.Deadline deadline = upcoming.get(i);
+                    long minutes = Math.max(0L, (deadline.readyAtMillis - now + 59_999L) / 60_000L);
+                    if (i > 0) text.append(", ");
+                    text.append(deadline.account).append(deadline.exact ? " " : " <").append(minutes).append('m');
+                }
+            }
+            cached = new FleetTooltip(version, minute, size, text.toString());
+            fleetTooltip = cached;
+        }
+        return cached.text;
     }
 
     public String getTimerText()
     {
-        if (lastClaimTime.isEmpty())
-            return knownOnCooldown ? "< 30m" : "?";
+        long now = clock.millis();
+        TimerState current = currentState(now);
+        if (current.textMode == TimerState.TextMode.FIXED) return current.text;
 
-        Duration elapsed = Duration.between(lastClaimTime.get(), Instant.now());
-        Duration remaining = COOLDOWN.minus(elapsed);
-        if (remaining.isNegative() || remaining.isZero()) return "Ready!";
+        long remainingMillis = cooldown.claimReadyAtMillis() - now;
+        boolean showSeconds = config.showSeconds();
+        long value = showSeconds ? remainingMillis / 1_000L : remainingMillis / 60_000L;
 
-        long minutes = remaining.toMinutes();
-        long seconds = remaining.getSeconds() % 60;
-        return config.showSeconds()
-            ? String.format("%d:%02d", minutes, seconds)
-            : String.format("%dm", minutes);
+        Countdown cached = countdown;
+        if (cached == null || cached.value != value || cached.showSeconds != showSeconds)
+        {
+            String text = showSeconds
+                ? String.format("%d:%02d", value / 60, value % 60)
+                : String.format("%dm", value);
+            cached = new Countdown(value, showSeconds, text);
+            countdown = cached;
+        }
+        return cached.text;
     }
 
     public boolean isReady()
     {
-        return lastClaimTime.isPresent()
-            && Duration.between(lastClaimTime.get(), Instant.now()).compareTo(COOLDOWN) >= 0;
+        return currentState() == TimerState.READY;
     }
 
     public boolean isUnknown()
     {
-        return lastClaimTime.isEmpty();
+        return cooldown.state().unknown;
+    }
+
+    // --- Overlay API ---
+
+    boolean isInTutorRegion()
+    {
+        return inTutorRegion;
+    }
+
+    Collection<NPC> getTutorNpcs()
+    {
+        return tutorNpcs.values();
+    }
+
+    // Current state with any pending claim expiry applied. Package-private for the info box and overlay.
+    TimerState currentState()
+    {
+        return currentState(clock.millis());
     }
 
-    private boolean isKnownCooldownActive()
+    private TimerState currentState(long now)
     {
-        return lastKnownCooldownTime
-            .map(t -> Instant.now().isBefore(t.plus(COOLDOWN)))
-            .orElse(false);
+        return cooldown.state(now);
+    }
+
+    private String accountName()
+    {
+        if (client == null) return null;
+        Player player = client.getLocalPlayer();
+        return player == null ? null : player.getName();
+    }
+
+    // Client thread only: reads the scene's NPCs and loaded regions.
+    private void seedTutorNpcs()
+    {
+        // queued by startUp, so it can run after a quick shutDown
+        if (!started) return;
+        tutorNpcs.clear();
+        inTutorRegion = isTutorRegionLoaded();
+        WorldView worldView = client.getTopLevelWorldView();
+        if (worldView == null) return;
+        for (NPC npc : worldView.npcs())
+        {
+            if (npc != null && isTutor(npc.getId()))
+            {
+                tutorNpcs.put(npc.getIndex(), npc);
+            }
+        }
+    }
+
+    private boolean isTutorRegionLoaded()
+    {
+        if (client == null) return false;
+        int[] regions = client.getMapRegions();
+        if (regions == null) return false;
+        for (int region : regions)
+        {
+            if (region == LUMBRIDGE_REGION) return true;
+        }
+        return false;
+    }
+
+    private static boolean isTutor(int npcId)
+    {
+        return npcId == NpcID.AIDE_TUTOR_RANGED || npcId == NpcID.AIDE_TUTOR_MAGIC;
+    }
+
+    // LOADING happens on every region change while logged in, so it doesn't count as idle.
+    private static boolean isIdle(GameState gameState)
+    {
+        return gameState != GameState.LOGGED_IN && gameState != GameState.LOADING;
+    }
+
+    private static final class Countdown
+    {
+        final long value;
+        final boolean showSeconds;
+        final String text;
+
+        Countdown(long value, boolean showSeconds, String text)
+        {
+            this.value = value;
+            this.showSeconds = showSeconds;
+            this.text = text;
+        }
+    }
+
+    private static final class FleetTooltip
+    {
+        final long version;
+        final long minute;
+        final int size;
+        final String text;
+
+        FleetTooltip(long version, long minute, int size, String text)
+        {
+            this.version = version;
+            this.minute = minute;
+            this.size = size;
+            this.text = text;
+        }
     }
 }
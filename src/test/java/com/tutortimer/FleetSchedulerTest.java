@@ -0,0 +1,112 @@
+package com.tutortimer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class FleetSchedulerTest
+{
+    @Test
+    public void queriesMatchFullScanOverRandomClaimsAndRejections()
+    {
+        FleetScheduler fleet = new FleetScheduler();
+        // account -> deadline, plus which accounts have been reported ready and in what order
+        Map<String, Long> deadlines = new HashMap<>();
+        LinkedHashSet<String> readyOrder = new LinkedHashSet<>();
+        SplittableRandom random = new SplittableRandom(0x5EED);
+        long now = 0L;
+
+        for (int step = 0; step < 20_000; step++)
+        {
+            if (random.nextInt(4) == 0)
+            {
+                now += random.nextLong(5 * 60_000L);
+                long at = now;
+                List<String> due = deadlines.entrySet().stream()
+                    .filter(e -> e.getValue() <= at && !readyOrder.contains(e.getKey()))
+                    .sorted(Map.Entry.<String, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+                assertEquals(due, accounts(fleet.advance(now)));
+                readyOrder.addAll(due);
+            }
+            else
+            {
+                String account = "account" + random.nextInt(300);
+                long readyAt = now + random.nextLong(TimerState.COOLDOWN.toMillis() + 1);
+                boolean exact = random.nextBoolean();
+                fleet.schedule(account, readyAt, exact);
+                assertEquals(readyAt, fleet.deadline(account).readyAtMillis);
+                assertEquals(exact, fleet.deadline(account).exact);
+                deadlines.put(account, readyAt);
+                readyOrder.remove(account);
+            }
+
+            List<String> pending = deadlines.entrySet().stream()
+                .filter(e -> !readyOrder.contains(e.getKey()))
+                .sorted(Map.Entry.<String, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+            int n = random.nextInt(12);
+            assertEquals(pending.subList(0, Math.min(n, pending.size())), accounts(fleet.nextReady(n)));
+            List<String> ready = new ArrayList<>(readyOrder);
+            assertEquals(ready.subList(0, Math.min(n, ready.size())), accounts(fleet.readyNow(n)));
+            assertEquals(readyOrder.size(), fleet.readyCount());
+            assertEquals(deadlines.size(), fleet.size());
+            assertEquals(pending.isEmpty() ? Long.MAX_VALUE : deadlines.get(pending.get(0)), fleet.nextDeadline());
+        }
+    }
+
+    @Test
+    public void reschedulingAReadyAccountPutsItBackOnCooldown()
+    {
+        FleetScheduler fleet = new FleetScheduler();
+        fleet.schedule("alice", 1_000L, true);
+        fleet.schedule("bob", 2_000L, false);
+        fleet.advance(1_500L);
+        assertEquals(List.of("alice"), accounts(fleet.readyNow(10)));
+
+        long version = fleet.version();
+        fleet.schedule("alice", 3_000L, true);
+
+        assertTrue(fleet.version() > version);
+        assertEquals(0, fleet.readyCount());
+        assertEquals(List.of("bob", "alice"), accounts(fleet.nextReady(10)));
+    }
+
+    @Test
+    public void reschedulingTheSameDeadlineIsANoOp()
+    {
+        FleetScheduler fleet = new FleetScheduler();
+        assertTrue(fleet.schedule("alice", 1_000L, true));
+        long version = fleet.version();
+
+        assertFalse(fleet.schedule("alice", 1_000L, true));
+        assertEquals(version, fleet.version());
+        assertTrue(fleet.schedule("alice", 1_000L, false));
+    }
+
+    @Test
+    public void advanceIsANoOpWhenNothingIsDue()
+    {
+        FleetScheduler fleet = new FleetScheduler();
+        fleet.schedule("alice", 1_000L, true);
+        long version = fleet.version();
+
+        assertTrue(fleet.advance(999L).isEmpty());
+        assertEquals(version, fleet.version());
+    }
+
+    private static List<String> accounts(List<FleetScheduler.Deadline> deadlines)
+    {
+        return deadlines.stream().map(d -> d.account).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,344 @@
+package com.tutortimer;
+
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.Player;
+import net.runelite.client.Notifier;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.game.ItemManager;
+import net.runelite.client.ui.ClientToolbar;
+import net.runelite.client.ui.NavigationButton;
+import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.ui.overlay.OverlayManager;
+import net.runelite.client.ui.overlay.infobox.InfoBox;
+import net.runelite.client.ui.overlay.infobox.InfoBoxManager;
+import net.runelite.client.util.AsyncBufferedImage;
+import org.mockito.Answers;
+
+import java.awt.image.BufferedImage;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Stub-only collaborators for driving a {@link TutorTimerPlugin} outside the client.
+ * Everything is backed by plain fields, so one harness can replay any number of
+ * sequences without allocating mocks or recording invocations.
+ */
+final class TutorTimerHarness
+{
+    static final long START_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private static final Field CLIENT = field("client");
+    private static final Field CLIENT_THREAD = field("clientThread");
+    private static final Field CLIENT_TOOLBAR = field("clientToolbar");
+    private static final Field CONFIG_MANAGER = field("configManager");
+    private static final Field INFO_BOX_MANAGER = field("infoBoxManager");
+    private static final Field ITEM_MANAGER = field("itemManager");
+    private static final Field NOTIFIER = field("notifier");
+    private static final Field OVERLAY_MANAGER = field("overlayManager");
+    private static final Field OVERLAY = field("overlay");
+    private static final Field CONFIG = field("config");
+    private static final Field CLOCK = field("clock");
+    private static final Field EXECUTOR = field("executor");
+
+    final Map<String, String> store = new HashMap<>();
+    final VirtualClock clock = new VirtualClock();
+    final StubConfig config = new StubConfig();
+    final Set<InfoBox> infoBoxes = Collections.newSetFromMap(new IdentityHashMap<>());
+    final Set<Overlay> overlays = Collections.newSetFromMap(new IdentityHashMap<>());
+    final Set<NavigationButton> navigationButtons = Collections.newSetFromMap(new IdentityHashMap<>());
+    // only filled in when trackAdded is set, for leak checks
+    final List<WeakReference<InfoBox>> addedInfoBoxes = new ArrayList<>();
+    final List<WeakReference<BufferedImage>> addedIcons = new ArrayList<>();
+    final List<WeakReference<NavigationButton>> addedNavigationButtons = new ArrayList<>();
+    boolean trackAdded;
+    int notifications;
+    GameState gameState;
+    // the logged-in account; switching it between runs grows the fleet
+    String playerName;
+    // the loaded scene; null like a client that hasn't loaded one, {12850} to stand in Lumbridge
+    int[] mapRegions;
+
+    final Client client = mock(Client.class, withSettings().stubOnly());
+    final Player player = mock(Player.class, withSettings().stubOnly());
+    final ClientToolbar clientToolbar = mock(ClientToolbar.class, withSettings().stubOnly());
+    final ClientThread clientThread = mock(ClientThread.class, withSettings().stubOnly());
+    final ConfigManager configManager = mock(ConfigManager.class, withSettings().stubOnly());
+    final InfoBoxManager infoBoxManager = mock(InfoBoxManager.class, withSettings().stubOnly());
+    final ItemManager itemManager = mock(ItemManager.class, withSettings().stubOnly());
+    final Notifier notifier = mock(Notifier.class, withSettings().stubOnly());
+    final OverlayManager overlayManager = mock(OverlayManager.class, withSettings().stubOnly());
+    final ScheduledExecutorService executor = mock(ScheduledExecutorService.class, withSettings().stubOnly());
+
+    TutorTimerHarness()
+    {
+        when(client.getGameState()).thenAnswer(inv -> gameState);
+        when(client.getLocalPlayer()).thenReturn(player);
+        when(client.getMapRegions()).thenAnswer(inv -> mapRegions);
+        when(player.getName()).thenAnswer(inv -> playerName);
+        // the tests are the client thread
+        doAnswer(inv ->
+        {
+            inv.<Runnable>getArgument(0).run();
+            return null;
+        }).when(clientThread).invoke(any(Runnable.class));
+        // and the executor, so background writes have landed when the call returns
+        doAnswer(inv ->
+        {
+            inv.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        when(configManager.getConfiguration(eq("tutortimer"), anyString()))
+            .thenAnswer(inv -> store.get(inv.<String>getArgument(1)));
+        doAnswer(inv -> store.put(inv.getArgument(1), inv.getArgument(2)))
+            .when(configManager).setConfiguration(eq("tutortimer"), anyString(), anyString());
+        doAnswer(inv -> store.remove(inv.<String>getArgument(1)))
+            .when(configManager).unsetConfiguration(eq("tutortimer"), anyString());
+
+        doAnswer(inv ->
+        {
+            InfoBox infoBox = inv.getArgument(0);
+            infoBoxes.add(infoBox);
+            if (trackAdded) addedInfoBoxes.add(new WeakReference<>(infoBox));
+            return null;
+        }).when(infoBoxManager).addInfoBox(any());
+        doAnswer(inv ->
+        {
+            infoBoxes.remove(inv.<InfoBox>getArgument(0));
+            return Answers.RETURNS_DEFAULTS.answer(inv);
+        }).when(infoBoxManager).removeInfoBox(any());
+
+        // a fresh icon per call, like the client's cache after eviction
+        when(itemManager.getImage(anyInt())).thenAnswer(inv ->
+        {
+            AsyncBufferedImage icon = mock(AsyncBufferedImage.class, withSettings().stubOnly());
+            if (trackAdded) addedIcons.add(new WeakReference<>(icon));
+            return icon;
+        });
+
+        doAnswer(inv ->
+        {
+            NavigationButton button = inv.getArgument(0);
+            navigationButtons.add(button);
+            if (trackAdded) addedNavigationButtons.add(new WeakReference<>(button));
+            return null;
+        }).when(clientToolbar).addNavigation(any());
+        doAnswer(inv ->
+        {
+            navigationButtons.remove(inv.<NavigationButton>getArgument(0));
+            return null;
+        }).when(clientToolbar).removeNavigation(any());
+
+        when(overlayManager.add(any())).thenAnswer(inv -> overlays.add(inv.getArgument(0)));
+        when(overlayManager.remove(any())).thenAnswer(inv -> overlays.remove(inv.<Overlay>getArgument(0)));
+
+        doAnswer(inv ->
+        {
+            notifications++;
+            return null;
+        }).when(notifier).notify(anyString());
+
+        reset();
+    }
+
+    void reset()
+    {
+        store.clear();
+        clock.millis = START_MILLIS;
+        config.reset();
+        infoBoxes.clear();
+        overlays.clear();
+        navigationButtons.clear();
+        addedInfoBoxes.clear();
+        addedIcons.clear();
+        addedNavigationButtons.clear();
+        notifications = 0;
+        gameState = GameState.LOGGED_IN;
+        playerName = "alice";
+        mapRegions = null;
+    }
+
+    boolean isIdle()
+    {
+        return gameState != GameState.LOGGED_IN && gameState != GameState.LOADING;
+    }
+
+    TutorTimerPlugin newPlugin()
+    {
+        TutorTimerPlugin plugin = new TutorTimerPlugin();
+        try
+        {
+            CLIENT.set(plugin, client);
+            CLIENT_THREAD.set(plugin, clientThread);
+            CLIENT_TOOLBAR.set(plugin, clientToolbar);
+            CONFIG_MANAGER.set(plugin, configManager);
+            INFO_BOX_MANAGER.set(plugin, infoBoxManager);
+            ITEM_MANAGER.set(plugin, itemManager);
+            NOTIFIER.set(plugin, notifier);
+            OVERLAY_MANAGER.set(plugin, overlayManager);
+            OVERLAY.set(plugin, new TutorTimerOverlay(plugin, config));
+            CONFIG.set(plugin, config);
+            CLOCK.set(plugin, clock);
+            EXECUTOR.set(plugin, executor);
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new AssertionError(e);
+        }
+        return plugin;
+    }
+
+    static Field field(String name)
+    {
+        try
+        {
+            Field f = TutorTimerPlugin.class.getDeclaredField(name);
+            f.setAccessible(true);
+            return f;
+        }
+        catch (NoSuchFieldException e)
+        {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T get(TutorTimerPlugin plugin, Field f)
+    {
+        try
+        {
+            return (T) f.get(plugin);
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new AssertionError(e);
+        }
+    }
+
+    static final class VirtualClock extends Clock
+    {
+        long millis;
+
+        @Override
+        public ZoneId getZone()
+        {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone)
+        {
+            return this;
+        }
+
+        @Override
+        public long millis()
+        {
+            return millis;
+        }
+
+        @Override
+        public Instant instant()
+        {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    static final class StubConfig implements TutorTimerConfig
+    {
+        boolean showInfoBox;
+        boolean showWhenReady;
+        boolean notifyOnReady;
+        boolean showSeconds;
+        boolean showOverlay;
+        boolean showFleetPanel;
+        boolean writeTutorLog;
+
+        void reset()
+        {
+            showInfoBox = true;
+            showWhenReady = false;
+            // on by default so notification paths are exercised
+            notifyOnReady = true;
+            showSeconds = true;
+            showOverlay = true;
+            showFleetPanel = true;
+            writeTutorLog = false;
+        }
+
+        void set(String key, boolean value)
+        {
+            switch (key)
+            {
+                case "showInfoBox": showInfoBox = value; break;
+                case "showWhenReady": showWhenReady = value; break;
+                case "notifyOnReady": notifyOnReady = value; break;
+                case "showSeconds": showSeconds = value; break;
+                case "showOverlay": showOverlay = value; break;
+                case "showFleetPanel": showFleetPanel = value; break;
+                case "writeTutorLog": writeTutorLog = value; break;
+                default: throw new IllegalArgumentException(key);
+            }
+        }
+
+        @Override
+        public boolean showInfoBox()
+        {
+            return showInfoBox;
+        }
+
+        @Override
+        public boolean showWhenReady()
+        {
+            return showWhenReady;
+        }
+
+        @Override
+        public boolean notifyOnReady()
+        {
+            return notifyOnReady;
+        }
+
+        @Override
+        public boolean showSeconds()
+        {
+            return showSeconds;
+        }
+
+        @Override
+        public boolean showOverlay()
+        {
+            return showOverlay;
+        }
+
+        @Override
+        public boolean showFleetPanel()
+        {
+            return showFleetPanel;
+        }
+
+        @Override
+        public boolean writeTutorLog()
+        {
+            return writeTutorLog;
+        }
+    }
+}
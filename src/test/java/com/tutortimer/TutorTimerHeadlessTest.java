@@ -0,0 +1,286 @@
+package com.tutortimer;
+
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.Player;
+import net.runelite.api.events.ChatMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class TutorTimerHeadlessTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<String> lines = new ArrayList<>();
+    private Path root;
+    private Path latest;
+    private ChatLogTailer tailer;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        root = folder.getRoot().toPath();
+        Path dir = Files.createDirectories(root.resolve("account"));
+        latest = dir.resolve("latest.log");
+        tailer = new ChatLogTailer(root, (file, line) -> lines.add(line));
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        tailer.close();
+    }
+
+    private static void append(Path file, String text) throws IOException
+    {
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    // --- Tailing ---
+
+    @Test
+    public void tailer_skipsExistingContentAndReadsAppendedLines() throws Exception
+    {
+        append(latest, "12:00:00 old line\n");
+        tailer.start();
+
+        append(latest, "12:00:01 first\r\n12:00:02 second\n");
+        tailer.catchUp();
+
+        assertEquals(List.of("12:00:01 first", "12:00:02 second"), lines);
+    }
+
+    @Test
+    public void tailer_holdsPartialLinesUntilTerminated() throws Exception
+    {
+        append(latest, "");
+        tailer.start();
+
+        append(latest, "12:00:01 Mikasi gives");
+        tailer.catchUp();
+        assertTrue(lines.isEmpty());
+
+        append(latest, " you 30 mind runes.\n");
+        tailer.catchUp();
+        assertEquals(List.of("12:00:01 Mikasi gives you 30 mind runes."), lines);
+    }
+
+    @Test
+    public void tailer_restartsTruncatedFile() throws Exception
+    {
+        append(latest, "12:00:00 old line\n");
+        tailer.start();
+
+        Files.write(latest, "new\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.TRUNCATE_EXISTING);
+        tailer.catchUp();
+
+        assertEquals(List.of("new"), lines);
+    }
+
+    @Test
+    public void tailer_watchesRootCreatedAfterStart() throws Exception
+    {
+        tailer.close();
+        Path missing = root.resolve("not-yet");
+        tailer = new ChatLogTailer(missing, (file, line) -> lines.add(line));
+        tailer.start();
+
+        // the plugin creates the account folder and log together on the first tutor message
+        append(Files.createDirectories(missing.resolve("account")).resolve("latest.log"), "12:00:01 first\n");
+        long deadline = System.currentTimeMillis() + 15_000L;
+        while (lines.isEmpty() && System.currentTimeMillis() < deadline)
+        {
+            tailer.poll(250L);
+        }
+
+        assertEquals(List.of("12:00:01 first"), lines);
+    }
+
+    @Test
+    public void tailer_followsRotatedLog() throws Exception
+    {
+        append(latest, "12:00:00 old line\n");
+        tailer.start();
+
+        append(latest, "12:00:01 before rotation\n");
+        Files.move(latest, latest.resolveSibling("2024-01-01.log"));
+        append(latest, "12:00:02 after rotation\n");
+
+        long deadline = System.currentTimeMillis() + 15_000L;
+        while (lines.size() < 2 && System.currentTimeMillis() < deadline)
+        {
+            tailer.poll(250L);
+        }
+
+        // the two files may be read in either order
+        assertEquals(2, lines.size());
+        assertTrue(lines.containsAll(List.of("12:00:01 before rotation", "12:00:02 after rotation")));
+    }
+
+    @Test
+    public void tailer_followsRotatedLogWithoutFileKeys() throws Exception
+    {
+        // Windows has no file keys, so offsets are tracked by path
+        tailer.close();
+        tailer = new ChatLogTailer(root, (file, line) -> lines.add(line))
+        {
+            @Override
+            Object fileKey(BasicFileAttributes attrs)
+            {
+                return null;
+            }
+        };
+
+        append(latest, "12:00:00 old line\n");
+        tailer.start();
+
+        append(latest, "12:00:01 before rotation\n");
+        Files.move(latest, latest.resolveSibling("2024-01-01.log"));
+        append(latest, "12:00:02 after rotation\n");
+
+        long deadline = System.currentTimeMillis() + 15_000L;
+        while (lines.size() < 2 && System.currentTimeMillis() < deadline)
+        {
+            tailer.poll(250L);
+        }
+        // give a replay of the rolled-over file the chance to show up
+        tailer.poll(250L);
+        tailer.poll(250L);
+
+        assertEquals(2, lines.size());
+        assertTrue(lines.containsAll(List.of("12:00:01 before rotation", "12:00:02 after rotation")));
+    }
+
+    // --- Tracking ---
+
+    @Test
+    public void headless_tracksAccountsSeparately()
+    {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+        TutorTimerHeadless headless = new TutorTimerHeadless(root, clock);
+
+        headless.onLine(root.resolve("alice/latest.log"), "00:00:00 Mikasi gives you 30 mind runes and 30 air runes.");
+        headless.onLine(root.resolve("bob/latest.log"), "00:00:00 You can only get items every half an hour.");
+        headless.onLine(root.resolve("carol/latest.log"), "00:00:00 Welcome to Lumbridge.");
+
+        assertEquals(TimerState.COUNTING, headless.stateOf("alice"));
+        assertEquals(TimerState.UNKNOWN_COOLDOWN, headless.stateOf("bob"));
+        assertEquals(TimerState.UNTRACKED, headless.stateOf("carol"));
+    }
+
+    @Test
+    public void headless_expiresOnlyAccountsThatCameDue()
+    {
+        TutorTimerHarness.VirtualClock clock = new TutorTimerHarness.VirtualClock();
+        clock.millis = TutorTimerHarness.START_MILLIS;
+        TutorTimerHeadless headless = new TutorTimerHeadless(root, clock);
+
+        headless.onLine(root.resolve("alice/latest.log"), "00:00:00 Mikasi gives you 30 mind runes and 30 air runes.");
+        clock.millis += 10 * 60_000L;
+        headless.onLine(root.resolve("bob/latest.log"), "00:10:00 Nemarti gives you a training bow.");
+        headless.onLine(root.resolve("carol/latest.log"), "00:10:00 You can only get items every half an hour.");
+
+        clock.millis += 20 * 60_000L;
+        headless.expireDue();
+
+        assertEquals(TimerState.READY, headless.stateOf("alice"));
+        assertEquals(TimerState.COUNTING, headless.stateOf("bob"));
+        assertEquals(1, headless.fleet().readyCount());
+        assertEquals("bob", headless.fleet().nextReady(1).get(0).account);
+
+        clock.millis += 10 * 60_000L;
+        headless.expireDue();
+
+        assertEquals(TimerState.READY, headless.stateOf("bob"));
+        assertEquals(TimerState.UNTRACKED, headless.stateOf("carol"));
+        assertEquals(3, headless.fleet().readyCount());
+    }
+
+    @Test
+    public void headless_readsTutorLogWrittenByPlugin() throws Exception
+    {
+        TutorTimerHarness h = new TutorTimerHarness();
+        Player player = mock(Player.class);
+        when(player.getName()).thenReturn("alice");
+        when(h.client.getLocalPlayer()).thenReturn(player);
+        h.config.writeTutorLog = true;
+        TutorTimerPlugin plugin = h.newPlugin();
+        plugin.tutorLogDir = root;
+
+        ChatMessage claim = new ChatMessage();
+        claim.setType(ChatMessageType.MESBOX);
+        claim.setMessage("Mikasi gives you 30 mind runes and 30 air runes.");
+        plugin.onChatMessage(claim);
+
+        // the tracker only catches up later, but counts from when the line was written
+        h.clock.millis += Duration.ofMinutes(20).toMillis();
+        Path file = root.resolve("alice").resolve("latest.log");
+        TutorTimerHeadless headless = new TutorTimerHeadless(root, h.clock);
+        for (String line : Files.readAllLines(file))
+        {
+            headless.onLine(file, line);
+        }
+
+        assertEquals(TimerState.COUNTING, headless.stateOf("alice"));
+        assertEquals(TutorTimerHarness.START_MILLIS + TimerState.COOLDOWN.toMillis(), headless.fleet().nextDeadline());
+    }
+
+    @Test
+    public void tutorLog_rollsOverToDatedFileOnANewDay() throws Exception
+    {
+        TutorTimerHarness h = new TutorTimerHarness();
+        h.config.writeTutorLog = true;
+        TutorTimerPlugin plugin = h.newPlugin();
+        plugin.tutorLogDir = root;
+
+        ChatMessage claim = new ChatMessage();
+        claim.setType(ChatMessageType.MESBOX);
+        claim.setMessage("Mikasi gives you 30 mind runes and 30 air runes.");
+        plugin.onChatMessage(claim);
+        h.clock.millis += Duration.ofMinutes(1).toMillis();
+        plugin.onChatMessage(claim);
+        long firstDay = h.clock.millis;
+        h.clock.millis += Duration.ofDays(1).toMillis();
+        plugin.onChatMessage(claim);
+
+        Path dir = root.resolve("alice");
+        LocalDate rolledDay = LocalDate.ofInstant(Instant.ofEpochMilli(firstDay), ZoneId.systemDefault());
+        List<String> rolled = Files.readAllLines(dir.resolve(rolledDay + ".log"));
+        List<String> latest = Files.readAllLines(dir.resolve("latest.log"));
+        assertEquals(2, rolled.size());
+        assertEquals(TutorTimerHarness.START_MILLIS, TutorMessage.logTime(rolled.get(0), -1L));
+        assertEquals(1, latest.size());
+        assertEquals(h.clock.millis, TutorMessage.logTime(latest.get(0), -1L));
+    }
+
+    @Test
+    public void tutorMessage_matchesPluginTriggers()
+    {
+        assertEquals(TutorMessage.CLAIM, TutorMessage.match("Nemarti gives you a training bow."));
+        assertEquals(TutorMessage.INTRO, TutorMessage.match("I work with the Ranged Combat tutor to give out items."));
+        assertEquals(TutorMessage.COOLDOWN_REJECT, TutorMessage.match("You can only get items every half an hour."));
+        assertNull(TutorMessage.match("Welcome to Lumbridge."));
+    }
+}
@@ -0,0 +1,340 @@
+package com.tutortimer;
+
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.gameval.NpcID;
+import net.runelite.client.events.ConfigChanged;
+import net.runelite.client.ui.overlay.infobox.InfoBox;
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Churns the plugin through thousands of startUp, events, config changes and shutDown
+ * cycles, the way toggling the plugin, switching profiles and editing config does in
+ * the client, and fails if anything is retained across cycles or cycles get slower.
+ *
+ * The cycle count can be raised with {@code -Dtutortimer.lifecycle.cycles}. Wall-clock
+ * timing is too noisy on shared CI runners and under coverage agents, so the slowdown
+ * check only runs with {@code -Dtutortimer.lifecycle.timing=true}.
+ */
+public class TutorTimerLifecycleTest
+{
+    private static final int CYCLES = Integer.getInteger("tutortimer.lifecycle.cycles", 5_000);
+    private static final boolean CHECK_TIMING = Boolean.getBoolean("tutortimer.lifecycle.timing");
+    private static final int WARMUP_CYCLES = 500;
+    private static final int BATCHES = 10;
+    private static final int LUMBRIDGE_REGION = 12850;
+    // a profile switch swaps in a fresh plugin instance and config store
+    private static final int PROFILE_SWITCH_INTERVAL = 50;
+
+    private static final long HEAP_GROWTH_TOLERANCE_BYTES = 16L * 1024 * 1024;
+    // a leak over thousands of cycles shows up as thousands of instances, not a couple
+    private static final long INSTANCE_COUNT_SLACK = 2;
+    private static final double SLOWDOWN_TOLERANCE = 3.0;
+
+    private static final String[] CONFIG_KEYS = {
+        "showInfoBox", "showWhenReady", "notifyOnReady", "showSeconds", "showOverlay", "showFleetPanel",
+    };
+    // lastClaim, lastKnownCooldown, lastShutdown and fleet
+    private static final int MAX_CONFIG_KEYS = 4;
+    // logged in one after another, so the fleet and its sidebar are churned too
+    private static final String[] ACCOUNTS = {"alice", "bob", "carol"};
+
+    private final TutorTimerHarness h = new TutorTimerHarness();
+    private final List<WeakReference<TutorTimerPlugin>> droppedPlugins = new ArrayList<>();
+    private final Graphics2D graphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+    private final ChatMessage[] chats = {
+        chat("Mikasi gives you 30 mind runes and 30 air runes."),
+        chat("Magic combat tutor|I work with the Ranged Combat tutor to give out consumable items."),
+        chat("You can only get items every half an hour."),
+    };
+    private final ConfigChanged[] configEvents = new ConfigChanged[CONFIG_KEYS.length];
+    private final GameStateChanged loggedIn = gameState(GameState.LOGGED_IN);
+    private final GameStateChanged loginScreen = gameState(GameState.LOGIN_SCREEN);
+    private final GameTick tick = new GameTick();
+    private final NpcSpawned[] spawns;
+    private final NpcDespawned[] despawns;
+
+    private TutorTimerPlugin plugin;
+
+    public TutorTimerLifecycleTest()
+    {
+        for (int k = 0; k < CONFIG_KEYS.length; k++)
+        {
+            configEvents[k] = new ConfigChanged();
+            configEvents[k].setGroup("tutortimer");
+            configEvents[k].setKey(CONFIG_KEYS[k]);
+        }
+
+        NPC mikasi = npc(NpcID.AIDE_TUTOR_MAGIC, 10);
+        NPC nemarti = npc(NpcID.AIDE_TUTOR_RANGED, 11);
+        spawns = new NpcSpawned[] {new NpcSpawned(mikasi), new NpcSpawned(nemarti)};
+        despawns = new NpcDespawned[] {new NpcDespawned(mikasi), new NpcDespawned(nemarti)};
+    }
+
+    @Test
+    public void churnReturnsToBaseline() throws Exception
+    {
+        h.trackAdded = true;
+        // in Lumbridge, so the overlay renders rather than returning early
+        h.mapRegions = new int[] {LUMBRIDGE_REGION};
+        plugin = h.newPlugin();
+
+        // warm up so class loading, JIT and lazily built statics are part of the baseline
+        for (int i = 0; i < WARMUP_CYCLES; i++)
+        {
+            cycle(i);
+        }
+        awaitCollected(h.addedInfoBoxes);
+        awaitCollected(h.addedIcons);
+        awaitCollected(h.addedNavigationButtons);
+        awaitCollected(droppedPlugins);
+        h.addedInfoBoxes.clear();
+        h.addedIcons.clear();
+        h.addedNavigationButtons.clear();
+        droppedPlugins.clear();
+
+        Map<String, Long> baselineCounts = liveInstanceCounts();
+        long baselineHeap = usedHeapAfterGc();
+
+        long[] nanosPerCycle = new long[BATCHES];
+        int perBatch = Math.max(1, CYCLES / BATCHES);
+        for (int b = 0; b < BATCHES; b++)
+        {
+            long start = System.nanoTime();
+            for (int i = 0; i < perBatch; i++)
+            {
+                cycle(b * perBatch + i);
+            }
+            nanosPerCycle[b] = (System.nanoTime() - start) / perBatch;
+        }
+
+        assertTrue("info boxes left registered: " + h.infoBoxes.size(), h.infoBoxes.isEmpty());
+        assertTrue("overlays left registered: " + h.overlays.size(), h.overlays.isEmpty());
+        assertTrue("navigation buttons left registered: " + h.navigationButtons.size(), h.navigationButtons.isEmpty());
+
+        int liveInfoBoxes = awaitCollected(h.addedInfoBoxes);
+        assertEquals("info boxes still reachable after shutDown", 0, liveInfoBoxes);
+        int liveIcons = awaitCollected(h.addedIcons);
+        assertEquals("item icons still reachable after shutDown", 0, liveIcons);
+        assertFalse("no icons were requested", h.addedIcons.isEmpty());
+        int liveButtons = awaitCollected(h.addedNavigationButtons);
+        assertEquals("navigation buttons still reachable after shutDown", 0, liveButtons);
+        assertFalse("the fleet sidebar was never shown", h.addedNavigationButtons.isEmpty());
+        int livePlugins = awaitCollected(droppedPlugins);
+        assertEquals("plugin instances still reachable after a profile switch", 0, livePlugins);
+
+        Map<String, Long> counts = liveInstanceCounts();
+        if (baselineCounts != null && counts != null)
+        {
+            for (Map.Entry<String, Long> entry : counts.entrySet())
+            {
+                long baseline = baselineCounts.getOrDefault(entry.getKey(), 0L);
+                assertTrue("live " + entry.getKey() + " instances grew from " + baseline + " to " + entry.getValue(),
+                    entry.getValue() <= baseline + INSTANCE_COUNT_SLACK);
+            }
+        }
+
+        long heapGrowth = usedHeapAfterGc() - baselineHeap;
+        assertTrue("retained heap grew by " + heapGrowth + " bytes", heapGrowth <= HEAP_GROWTH_TOLERANCE_BYTES);
+
+        if (CHECK_TIMING)
+        {
+            // compare the steady state after the first batch with the end of the run
+            long early = median(Arrays.copyOfRange(nanosPerCycle, 1, 4));
+            long late = median(Arrays.copyOfRange(nanosPerCycle, BATCHES - 3, BATCHES));
+            assertTrue("cycles slowed from " + early + "ns to " + late + "ns: " + Arrays.toString(nanosPerCycle),
+                late <= early * SLOWDOWN_TOLERANCE);
+        }
+    }
+
+    // One toggle of the plugin: start, play a little, edit config, log out now and then, stop.
+    private void cycle(int i) throws Exception
+    {
+        h.gameState = GameState.LOGGED_IN;
+        // each account sees every chat message in turn before the next one logs in
+        h.playerName = ACCOUNTS[(i / chats.length) % ACCOUNTS.length];
+        plugin.startUp();
+        plugin.onGameStateChanged(loggedIn);
+        assertTrue("not in the tutor region in cycle " + i, plugin.isInTutorRegion());
+        for (NpcSpawned spawn : spawns)
+        {
+            plugin.onNpcSpawned(spawn);
+        }
+
+        plugin.onChatMessage(chats[i % chats.length]);
+        for (int t = 0; t < 3; t++)
+        {
+            h.clock.millis += 600L;
+            plugin.onGameTick(tick);
+            render();
+        }
+
+        for (int k = i % CONFIG_KEYS.length, n = 0; n < 2; k = (k + 1) % CONFIG_KEYS.length, n++)
+        {
+            h.config.set(CONFIG_KEYS[k], (i & 1) == 0);
+            plugin.onConfigChanged(configEvents[k]);
+            plugin.onGameTick(tick);
+            render();
+        }
+
+        for (NpcDespawned despawn : despawns)
+        {
+            plugin.onNpcDespawned(despawn);
+        }
+        if ((i & 1) == 0)
+        {
+            h.gameState = GameState.LOGIN_SCREEN;
+            plugin.onGameStateChanged(loginScreen);
+        }
+
+        h.clock.millis += 7 * 60_000L;
+        plugin.shutDown();
+        // the sidebar is built, shown and removed on the Swing thread
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertTrue("info box left registered after cycle " + i, h.infoBoxes.isEmpty());
+        assertTrue("overlay left registered after cycle " + i, h.overlays.isEmpty());
+        assertTrue("navigation button left registered after cycle " + i, h.navigationButtons.isEmpty());
+        assertTrue("config keys piling up: " + h.store.keySet(), h.store.size() <= MAX_CONFIG_KEYS);
+        String fleet = h.store.get("fleet");
+        assertTrue("fleet entries piling up: " + fleet,
+            fleet == null || fleet.split(";").length <= ACCOUNTS.length);
+
+        if ((i + 1) % PROFILE_SWITCH_INTERVAL == 0)
+        {
+            droppedPlugins.add(new WeakReference<>(plugin));
+            h.store.clear();
+            plugin = h.newPlugin();
+        }
+    }
+
+    private void render()
+    {
+        for (InfoBox infoBox : h.infoBoxes)
+        {
+            infoBox.getText();
+            infoBox.getTooltip();
+            infoBox.getTextColor();
+        }
+        new ArrayList<>(h.overlays).forEach(overlay -> overlay.render(graphics));
+    }
+
+    // --- Heap checks ---
+
+    // Collects until every reference is cleared or we give up; returns how many are still live.
+    private static int awaitCollected(List<? extends WeakReference<?>> refs) throws InterruptedException
+    {
+        int live = refs.size();
+        for (int attempt = 0; attempt < 20 && live > 0; attempt++)
+        {
+            System.gc();
+            Thread.sleep(20L);
+            live = 0;
+            for (WeakReference<?> ref : refs)
+            {
+                if (ref.get() != null) live++;
+            }
+        }
+        return live;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            System.gc();
+            Thread.sleep(20L);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Live instance counts for this plugin's classes from a heap histogram, which runs a
+     * full GC first. Returns null on JVMs without the diagnostic command.
+     */
+    private static Map<String, Long> liveInstanceCounts()
+    {
+        String histogram;
+        try
+        {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            histogram = (String) server.invoke(
+                new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                "gcClassHistogram",
+                new Object[] {new String[0]},
+                new String[] {String[].class.getName()});
+        }
+        catch (JMException e)
+        {
+            return null;
+        }
+
+        // rows look like "   1:   4242   123456  com.tutortimer.TutorTimerInfoBox"
+        Map<String, Long> counts = new HashMap<>();
+        for (String line : histogram.split("\n"))
+        {
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length >= 4 && columns[0].endsWith(":") && columns[3].startsWith("com.tutortimer."))
+            {
+                counts.put(columns[3], Long.parseLong(columns[1]));
+            }
+        }
+        return counts;
+    }
+
+    private static long median(long[] values)
+    {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    // --- Helpers ---
+
+    private static ChatMessage chat(String message)
+    {
+        ChatMessage event = new ChatMessage();
+        event.setType(ChatMessageType.DIALOG);
+        event.setMessage(message);
+        return event;
+    }
+
+    private static GameStateChanged gameState(GameState state)
+    {
+        GameStateChanged event = new GameStateChanged();
+        event.setGameState(state);
+        return event;
+    }
+
+    private static NPC npc(int id, int index)
+    {
+        NPC npc = mock(NPC.class, withSettings().stubOnly());
+        when(npc.getId()).thenReturn(id);
+        when(npc.getIndex()).thenReturn(index);
+        return npc;
+    }
+}
@@ -5,12 +5,36 @@ import net.runelite.client.config.ConfigManager;
 import net.runelite.client.externalplugins.ExternalPluginManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.api.ChatMessageType;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.IndexedObjectSet;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.WorldView;
 import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.gameval.NpcID;
+import net.runelite.client.Notifier;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.game.ItemManager;
+import net.runelite.client.ui.ClientToolbar;
+import net.runelite.client.ui.overlay.OverlayManager;
+import net.runelite.client.ui.overlay.infobox.InfoBoxManager;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
 import java.lang.reflect.Field;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -40,6 +64,18 @@ public class TutorTimerPluginTest
         return f.get(obj);
     }
 
+    // Runs everything already queued on the Swing thread.
+    private static void flushSwing() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+
+    // A tutor confirmed a cooldown just now without saying how long is left.
+    private static void confirmCooldown(TutorTimerPlugin plugin) throws Exception
+    {
+        ((TutorCooldown) getField(plugin, "cooldown")).apply(TutorMessage.COOLDOWN_REJECT, System.currentTimeMillis());
+    }
+
     // --- Basic sanity ---
 
     @Test
@@ -62,7 +98,7 @@ public class TutorTimerPluginTest
         TutorTimerPlugin plugin = new TutorTimerPlugin();
         assertEquals("?", plugin.getTimerText());
 
-        setField(plugin, "knownOnCooldown", true);
+        confirmCooldown(plugin);
         assertEquals("< 30m", plugin.getTimerText());
     }
 
@@ -72,10 +108,10 @@ public class TutorTimerPluginTest
         TutorTimerPlugin plugin = new TutorTimerPlugin();
         assertFalse(plugin.isReady());
 
-        setField(plugin, "lastClaimTime", java.util.Optional.of(Instant.now().minus(TutorTimerPlugin.COOLDOWN).minusSeconds(1)));
+        plugin.restoreClaim(Instant.now().minus(TimerState.COOLDOWN).minusSeconds(1));
         assertTrue(plugin.isReady());
 
-        setField(plugin, "lastClaimTime", java.util.Optional.of(Instant.now()));
+        plugin.restoreClaim(Instant.now());
         assertFalse(plugin.isReady());
     }
 
@@ -91,7 +127,7 @@ public class TutorTimerPluginTest
                 return true;
             }
         });
-        setField(plugin, "lastClaimTime", java.util.Optional.of(Instant.now().minus(Duration.ofMinutes(29)).minusSeconds(30)));
+        plugin.restoreClaim(Instant.now().minus(Duration.ofMinutes(29)).minusSeconds(30));
         assertTrue(plugin.getTimerText().matches("\\d+:\\d{2}"));
     }
 
@@ -103,18 +139,35 @@ public class TutorTimerPluginTest
 
         assertEquals("Tutor Timer - claim runes or arrows to start tracking", plugin.getTooltipText());
 
-        setField(plugin, "knownOnCooldown", true);
+        confirmCooldown(plugin);
         assertEquals("Tutor Timer - on cooldown, but unknown time remaining", plugin.getTooltipText());
 
-        setField(plugin, "lastClaimTime", java.util.Optional.of(Instant.now().minus(TutorTimerPlugin.COOLDOWN).minusSeconds(1)));
+        plugin.restoreClaim(Instant.now().minus(TimerState.COOLDOWN).minusSeconds(1));
         assertEquals("Tutor Timer - ready to claim!", plugin.getTooltipText());
 
-        setField(plugin, "lastClaimTime", java.util.Optional.of(Instant.now().minus(Duration.ofMinutes(29)).minusSeconds(30)));
+        plugin.restoreClaim(Instant.now().minus(Duration.ofMinutes(29)).minusSeconds(30));
         String tooltip = plugin.getTooltipText();
         assertTrue(tooltip.startsWith("Tutor Timer - "));
         assertTrue(tooltip.endsWith(" remaining"));
     }
 
+    @Test
+    public void timerState_transitions()
+    {
+        for (TimerState state : TimerState.values())
+        {
+            assertEquals(TimerState.COUNTING, state.on(TimerEvent.CLAIM));
+            assertEquals(TimerState.UNTRACKED, state.on(TimerEvent.RESET));
+        }
+
+        assertEquals(TimerState.READY, TimerState.COUNTING.on(TimerEvent.CLAIM_EXPIRED));
+        assertEquals(TimerState.UNKNOWN_COOLDOWN, TimerState.UNTRACKED.on(TimerEvent.COOLDOWN_CONFIRMED));
+        assertEquals(TimerState.UNKNOWN_COOLDOWN, TimerState.READY.on(TimerEvent.COOLDOWN_CONFIRMED));
+        assertEquals(TimerState.COUNTING, TimerState.COUNTING.on(TimerEvent.COOLDOWN_CONFIRMED));
+        assertEquals(TimerState.UNTRACKED, TimerState.UNKNOWN_COOLDOWN.on(TimerEvent.KNOWN_EXPIRED));
+        assertEquals(TimerState.READY, TimerState.READY.on(TimerEvent.KNOWN_EXPIRED));
+    }
+
     // --- Chat message handling ---
 
     @Test
@@ -122,6 +175,7 @@ public class TutorTimerPluginTest
     {
         TutorTimerPlugin plugin = new TutorTimerPlugin();
         setField(plugin, "configManager", mock(ConfigManager.class));
+        setField(plugin, "config", new TutorTimerConfig() { });
 
         ChatMessage ev = mock(ChatMessage.class);
         when(ev.getType()).thenReturn(ChatMessageType.MESBOX);
@@ -129,8 +183,8 @@ public class TutorTimerPluginTest
 
         plugin.onChatMessage(ev);
 
-        assertTrue((boolean) getField(plugin, "knownOnCooldown"));
-        assertTrue(((java.util.Optional<?>) getField(plugin, "lastClaimTime")).isPresent());
+        assertEquals(TimerState.COUNTING, plugin.currentState());
+        assertTrue(plugin.lastClaimTime().isPresent());
     }
 
     @Test
@@ -139,6 +193,7 @@ public class TutorTimerPluginTest
         TutorTimerPlugin plugin = new TutorTimerPlugin();
         ConfigManager cfg = mock(ConfigManager.class);
         setField(plugin, "configManager", cfg);
+        setField(plugin, "config", new TutorTimerConfig() { });
 
         ChatMessage ev = mock(ChatMessage.class);
         when(ev.getType()).thenReturn(ChatMessageType.DIALOG);
@@ -147,7 +202,7 @@ public class TutorTimerPluginTest
 
         plugin.onChatMessage(ev);
 
-        assertNotNull(getField(plugin, "lastKnownCooldownTime"));
+        assertTrue(plugin.lastKnownCooldownTime().isPresent());
         verify(cfg).setConfiguration(eq("tutortimer"), eq("lastKnownCooldown"), anyString());
     }
 
@@ -158,7 +213,8 @@ public class TutorTimerPluginTest
         ConfigManager cfg = mock(ConfigManager.class);
         when(cfg.getConfiguration("tutortimer", "lastClaim")).thenReturn("existing");
         setField(plugin, "configManager", cfg);
-        setField(plugin, "lastClaimTime", java.util.Optional.of(Instant.now().minus(TutorTimerPlugin.COOLDOWN).minusSeconds(1)));
+        setField(plugin, "config", new TutorTimerConfig() { });
+        plugin.restoreClaim(Instant.now().minus(TimerState.COOLDOWN).minusSeconds(1));
 
         ChatMessage ev = mock(ChatMessage.class);
         when(ev.getType()).thenReturn(ChatMessageType.GAMEMESSAGE);
@@ -166,9 +222,9 @@ public class TutorTimerPluginTest
 
         plugin.onChatMessage(ev);
 
-        Object val1 = getField(plugin, "lastClaimTime");
-        assertFalse(((java.util.Optional<?>) val1).isPresent());
-        assertTrue((boolean) getField(plugin, "knownOnCooldown"));
+        java.util.Optional<Instant> val1 = plugin.lastClaimTime();
+        assertFalse(val1.isPresent());
+        assertEquals(TimerState.UNKNOWN_COOLDOWN, plugin.currentState());
     }
 
     @Test
@@ -178,7 +234,8 @@ public class TutorTimerPluginTest
         ConfigManager cfg = mock(ConfigManager.class);
         when(cfg.getConfiguration("tutortimer", "lastClaim")).thenReturn("existing");
         setField(plugin, "configManager", cfg);
-        setField(plugin, "lastClaimTime", java.util.Optional.of(Instant.now().minus(TutorTimerPlugin.COOLDOWN).minusSeconds(1)));
+        setField(plugin, "config", new TutorTimerConfig() { });
+        plugin.restoreClaim(Instant.now().minus(TimerState.COOLDOWN).minusSeconds(1));
 
         ChatMessage ev = mock(ChatMessage.class);
         when(ev.getType()).thenReturn(ChatMessageType.DIALOG);
@@ -186,9 +243,373 @@ public class TutorTimerPluginTest
 
         plugin.onChatMessage(ev);
 
-        Object val2 = getField(plugin, "lastClaimTime");
-        assertFalse(((java.util.Optional<?>) val2).isPresent());
-        assertTrue((boolean) getField(plugin, "knownOnCooldown"));
+        java.util.Optional<Instant> val2 = plugin.lastClaimTime();
+        assertFalse(val2.isPresent());
+        assertEquals(TimerState.UNKNOWN_COOLDOWN, plugin.currentState());
+    }
+
+    // --- Idle mode ---
+
+    private static GameStateChanged gameState(GameState state)
+    {
+        GameStateChanged event = new GameStateChanged();
+        event.setGameState(state);
+        return event;
+    }
+
+    @Test
+    public void onGameStateChanged_logoutRemovesInfoBoxAndIgnoresEvents() throws Exception
+    {
+        TutorTimerPlugin plugin = new TutorTimerPlugin();
+        InfoBoxManager infoBoxes = mock(InfoBoxManager.class);
+        setField(plugin, "configManager", mock(ConfigManager.class));
+        setField(plugin, "infoBoxManager", infoBoxes);
+        setField(plugin, "itemManager", mock(ItemManager.class));
+        setField(plugin, "config", new TutorTimerConfig() { });
+        plugin.onGameTick(new GameTick());
+        verify(infoBoxes).addInfoBox(any());
+
+        plugin.onGameStateChanged(gameState(GameState.LOGIN_SCREEN));
+        verify(infoBoxes).removeInfoBox(any());
+
+        ChatMessage ev = mock(ChatMessage.class);
+        when(ev.getType()).thenReturn(ChatMessageType.MESBOX);
+        when(ev.getMessage()).thenReturn("Mikasi gives you 30 mind runes and 30 air runes.");
+        plugin.onChatMessage(ev);
+        plugin.onGameTick(new GameTick());
+
+        assertFalse(plugin.lastClaimTime().isPresent());
+        verify(infoBoxes, times(1)).addInfoBox(any());
+    }
+
+    @Test
+    public void onGameStateChanged_loginCatchesUpOnMissedExpiry() throws Exception
+    {
+        TutorTimerPlugin plugin = new TutorTimerPlugin();
+        Notifier notifier = mock(Notifier.class);
+        setField(plugin, "configManager", mock(ConfigManager.class));
+        setField(plugin, "infoBoxManager", mock(InfoBoxManager.class));
+        setField(plugin, "itemManager", mock(ItemManager.class));
+        setField(plugin, "notifier", notifier);
+        setField(plugin, "config", new TutorTimerConfig()
+        {
+            @Override
+            public boolean notifyOnReady()
+            {
+                return true;
+            }
+        });
+
+        plugin.onGameStateChanged(gameState(GameState.LOGIN_SCREEN));
+        plugin.restoreClaim(Instant.now().minus(TimerState.COOLDOWN).minusSeconds(1));
+        verify(notifier, never()).notify(anyString());
+
+        plugin.onGameStateChanged(gameState(GameState.LOGGED_IN));
+        verify(notifier).notify(anyString());
+    }
+
+    // --- Tutor overlay ---
+
+    private static NPC npc(int id, int index)
+    {
+        NPC npc = mock(NPC.class);
+        when(npc.getId()).thenReturn(id);
+        when(npc.getIndex()).thenReturn(index);
+        return npc;
+    }
+
+    @Test
+    public void onNpcSpawned_cachesOnlyTutorsByIndex()
+    {
+        TutorTimerPlugin plugin = new TutorTimerPlugin();
+        NPC mikasi = npc(NpcID.AIDE_TUTOR_MAGIC, 10);
+        NPC nemarti = npc(NpcID.AIDE_TUTOR_RANGED, 11);
+
+        plugin.onNpcSpawned(new NpcSpawned(mikasi));
+        plugin.onNpcSpawned(new NpcSpawned(nemarti));
+        plugin.onNpcSpawned(new NpcSpawned(npc(NpcID.AIDE_TUTOR_MELEE, 12)));
+        assertEquals(2, plugin.getTutorNpcs().size());
+
+        plugin.onNpcDespawned(new NpcDespawned(mikasi));
+        assertEquals(1, plugin.getTutorNpcs().size());
+        assertTrue(plugin.getTutorNpcs().contains(nemarti));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void startUp_seedsTutorsAlreadyInTheSceneOnClientThread() throws Exception
+    {
+        TutorTimerPlugin plugin = new TutorTimerPlugin();
+        Client client = mock(Client.class);
+        WorldView worldView = mock(WorldView.class);
+        IndexedObjectSet<NPC> npcs = mock(IndexedObjectSet.class);
+        NPC nemarti = npc(NpcID.AIDE_TUTOR_RANGED, 11);
+        NPC melee = npc(NpcID.AIDE_TUTOR_MELEE, 12);
+        when(npcs.iterator()).thenAnswer(inv -> List.of(nemarti, melee).iterator());
+        doReturn(npcs).when(worldView).npcs();
+        when(client.getTopLevelWorldView()).thenReturn(worldView);
+        when(client.getMapRegions()).thenReturn(new int[] {12850});
+        when(client.getGameState()).thenReturn(GameState.LOGGED_IN);
+        ClientThread clientThread = mock(ClientThread.class);
+        setField(plugin, "client", client);
+        setField(plugin, "clientThread", clientThread);
+        setField(plugin, "configManager", mock(ConfigManager.class));
+        setField(plugin, "infoBoxManager", mock(InfoBoxManager.class));
+        setField(plugin, "itemManager", mock(ItemManager.class));
+        setField(plugin, "overlayManager", mock(OverlayManager.class));
+        setField(plugin, "config", new TutorTimerConfig() { });
+
+        plugin.startUp();
+        // nothing touches the scene until the client thread runs the task
+        verify(client, never()).getMapRegions();
+        assertTrue(plugin.getTutorNpcs().isEmpty());
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(clientThread).invoke(task.capture());
+        task.getValue().run();
+
+        assertTrue(plugin.isInTutorRegion());
+        assertEquals(1, plugin.getTutorNpcs().size());
+        assertTrue(plugin.getTutorNpcs().contains(nemarti));
+    }
+
+    @Test
+    public void shutDown_clearsTutorsOnClientThreadAndDropsALateSeed() throws Exception
+    {
+        TutorTimerPlugin plugin = new TutorTimerPlugin();
+        Client client = mock(Client.class);
+        WorldView worldView = mock(WorldView.class);
+        IndexedObjectSet<NPC> npcs = mock(IndexedObjectSet.class);
+        NPC nemarti = npc(NpcID.AIDE_TUTOR_RANGED, 11);
+        when(npcs.iterator()).thenAnswer(inv -> List.of(nemarti).iterator());
+        doReturn(npcs).when(worldView).npcs();
+        when(client.getTopLevelWorldView()).thenReturn(worldView);
+        when(client.getGameState()).thenReturn(GameState.LOGGED_IN);
+        ClientThread clientThread = mock(ClientThread.class);
+        OverlayManager overlayManager = mock(OverlayManager.class);
+        setField(plugin, "client", client);
+        setField(plugin, "clientThread", clientThread);
+        setField(plugin, "configManager", mock(ConfigManager.class));
+        setField(plugin, "infoBoxManager", mock(InfoBoxManager.class));
+        setField(plugin, "itemManager", mock(ItemManager.class));
+        setField(plugin, "overlayManager", overlayManager);
+        setField(plugin, "config", new TutorTimerConfig() { });
+
+        // disabled again before the client thread got to the seed
+        plugin.startUp();
+        plugin.shutDown();
+
+        // the overlay is gone before the client thread is asked to clear the tutors
+        InOrder order = inOrder(overlayManager, clientThread);
+        order.verify(overlayManager).remove(any());
+        order.verify(clientThread).invoke(any(Runnable.class));
+
+        // the client thread runs the queued seed, then the clear
+        ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+        verify(clientThread, times(2)).invoke(tasks.capture());
+        for (Runnable task : tasks.getAllValues())
+        {
+            task.run();
+        }
+
+        assertTrue(plugin.getTutorNpcs().isEmpty());
+        verify(client, never()).getTopLevelWorldView();
+    }
+
+    @Test
+    public void onGameStateChanged_keepsTutorsUntilTheSceneIsRebuilt() throws Exception
+    {
+        TutorTimerPlugin plugin = new TutorTimerPlugin();
+        setField(plugin, "infoBoxManager", mock(InfoBoxManager.class));
+        plugin.onNpcSpawned(new NpcSpawned(npc(NpcID.AIDE_TUTOR_MAGIC, 10)));
+
+        // a dropped connection comes back to the same scene without respawning anyone
+        plugin.onGameStateChanged(gameState(GameState.CONNECTION_LOST));
+        assertEquals(1, plugin.getTutorNpcs().size());
+
+        plugin.onGameStateChanged(gameState(GameState.HOPPING));
+        assertTrue(plugin.getTutorNpcs().isEmpty());
+
+        plugin.onNpcSpawned(new NpcSpawned(npc(NpcID.AIDE_TUTOR_MAGIC, 10)));
+        plugin.onGameStateChanged(gameState(GameState.LOGIN_SCREEN));
+        assertTrue(plugin.getTutorNpcs().isEmpty());
+    }
+
+    @Test
+    public void overlay_doesNoWorkOutsideTutorRegion()
+    {
+        TutorTimerPlugin plugin = new TutorTimerPlugin();
+        plugin.onNpcSpawned(new NpcSpawned(npc(NpcID.AIDE_TUTOR_MAGIC, 10)));
+        TutorTimerConfig config = mock(TutorTimerConfig.class);
+        Graphics2D graphics = mock(Graphics2D.class);
+
+        assertNull(new TutorTimerOverlay(plugin, config).render(graphics));
+        verifyNoInteractions(graphics, config);
+    }
+
+    @Test
+    public void getTimerText_reusesCountdownWithinSameSecond() throws Exception
+    {
+        TutorTimerPlugin plugin = new TutorTimerPlugin();
+        setField(plugin, "config", new TutorTimerConfig() { });
+        setField(plugin, "clock", java.time.Clock.fixed(Instant.now(), java.time.ZoneOffset.UTC));
+        plugin.restoreClaim(Instant.now().minus(Duration.ofMinutes(10)));
+
+        assertSame(plugin.getTimerText(), plugin.getTimerText());
+    }
+
+    // --- Fleet ---
+
+    private static ChatMessage chat(ChatMessageType type, String message)
+    {
+        ChatMessage ev = mock(ChatMessage.class);
+        when(ev.getType()).thenReturn(type);
+        when(ev.getMessage()).thenReturn(message);
+        return ev;
+    }
+
+    @Test
+    public void fleet_tooltipListsAccountsAcrossLogins() throws Exception
+    {
+        TutorTimerPlugin plugin = new TutorTimerPlugin();
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        Client client = mock(Client.class);
+        Player player = mock(Player.class);
+        ConfigManager cfg = mock(ConfigManager.class);
+        when(client.getLocalPlayer()).thenReturn(player);
+        setField(plugin, "client", client);
+        setField(plugin, "configManager", cfg);
+        setField(plugin, "infoBoxManager", mock(InfoBoxManager.class));
+        setField(plugin, "itemManager", mock(ItemManager.class));
+        setField(plugin, "clock", Clock.fixed(start, ZoneOffset.UTC));
+        setField(plugin, "config", new TutorTimerConfig()
+        {
+            @Override
+            public boolean showFleetPanel()
+            {
+                return false;
+            }
+        });
+
+        when(player.getName()).thenReturn("alice");
+        plugin.onChatMessage(chat(ChatMessageType.MESBOX, "Mikasi gives you 30 mind runes and 30 air runes."));
+        // a lone account keeps the plain tooltip
+        assertEquals("Tutor Timer - 30:00 remaining", plugin.getTooltipText());
+
+        when(player.getName()).thenReturn("bob");
+        plugin.onChatMessage(chat(ChatMessageType.DIALOG, "You can only get items every half an hour."));
+        assertTrue(plugin.getTooltipText(), plugin.getTooltipText().endsWith("</br>Next: alice 30m, bob <30m"));
+
+        // both accounts are written together on the next tick, and not again until something changes
+        verify(cfg, never()).setConfiguration(eq("tutortimer"), eq("fleet"), anyString());
+        plugin.onGameTick(new GameTick());
+        plugin.onGameTick(new GameTick());
+        ArgumentCaptor<String> saved = ArgumentCaptor.forClass(String.class);
+        verify(cfg).setConfiguration(eq("tutortimer"), eq("fleet"), saved.capture());
+        assertTrue(saved.getValue().contains("alice," + start.plus(TimerState.COOLDOWN).toEpochMilli() + ",true"));
+        assertTrue(saved.getValue().contains("bob," + start.plus(TimerState.COOLDOWN).toEpochMilli() + ",false"));
+
+        setField(plugin, "clock", Clock.fixed(start.plus(TimerState.COOLDOWN), ZoneOffset.UTC));
+        plugin.onGameTick(new GameTick());
+        assertTrue(plugin.getTooltipText(), plugin.getTooltipText().endsWith("</br>Ready now: alice, bob"));
+    }
+
+    @Test
+    public void fleet_rejectionDuringClaimKeepsTheClaimDeadline() throws Exception
+    {
+        TutorTimerPlugin plugin = new TutorTimerPlugin();
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        Client client = mock(Client.class);
+        Player player = mock(Player.class);
+        when(client.getLocalPlayer()).thenReturn(player);
+        setField(plugin, "client", client);
+        setField(plugin, "configManager", mock(ConfigManager.class));
+        setField(plugin, "infoBoxManager", mock(InfoBoxManager.class));
+        setField(plugin, "itemManager", mock(ItemManager.class));
+        setField(plugin, "clock", Clock.fixed(start, ZoneOffset.UTC));
+        setField(plugin, "config", new TutorTimerConfig() { });
+
+        // a second account so the tooltip lists the fleet
+        when(player.getName()).thenReturn("bob");
+        plugin.onChatMessage(chat(ChatMessageType.DIALOG, "You can only get items every half an hour."));
+        when(player.getName()).thenReturn("alice");
+        plugin.onChatMessage(chat(ChatMessageType.MESBOX, "Mikasi gives you 30 mind runes and 30 air runes."));
+
+        // alice's claim is still counting on this profile, but it says nothing about bob or carol
+        setField(plugin, "clock", Clock.fixed(start.plus(Duration.ofMinutes(10)), ZoneOffset.UTC));
+        when(player.getName()).thenReturn("bob");
+        plugin.onChatMessage(chat(ChatMessageType.DIALOG, "You can only get items every half an hour."));
+        when(player.getName()).thenReturn("carol");
+        plugin.onChatMessage(chat(ChatMessageType.DIALOG,
+            "Magic combat tutor|I work with the Ranged Combat tutor to give out consumable items."));
+
+        setField(plugin, "clock", Clock.fixed(start.plus(Duration.ofMinutes(25)), ZoneOffset.UTC));
+        when(player.getName()).thenReturn("alice");
+        plugin.onChatMessage(chat(ChatMessageType.DIALOG, "You can only get items every half an hour."));
+
+        assertTrue(plugin.getTooltipText(),
+            plugin.getTooltipText().endsWith("</br>Next: alice 5m, bob <15m, carol <15m"));
+    }
+
+    @Test
+    public void fleet_sidebarAppearsOnceTwoAccountsAreTracked() throws Exception
+    {
+        TutorTimerPlugin plugin = new TutorTimerPlugin();
+        Client client = mock(Client.class);
+        Player player = mock(Player.class);
+        ClientToolbar clientToolbar = mock(ClientToolbar.class);
+        ItemManager itemManager = mock(ItemManager.class, RETURNS_MOCKS);
+        when(client.getLocalPlayer()).thenReturn(player);
+        when(client.getGameState()).thenReturn(GameState.LOGGED_IN);
+        setField(plugin, "client", client);
+        setField(plugin, "configManager", mock(ConfigManager.class));
+        setField(plugin, "infoBoxManager", mock(InfoBoxManager.class));
+        setField(plugin, "itemManager", itemManager);
+        setField(plugin, "overlayManager", mock(OverlayManager.class));
+        setField(plugin, "clientToolbar", clientToolbar);
+        setField(plugin, "clientThread", mock(ClientThread.class));
+        setField(plugin, "config", new TutorTimerConfig() { });
+        plugin.startUp();
+
+        when(player.getName()).thenReturn("alice");
+        plugin.onChatMessage(chat(ChatMessageType.MESBOX, "Nemarti gives you a training bow."));
+        plugin.onGameTick(new GameTick());
+        flushSwing();
+        // a single account never builds the sidebar or loads its icon
+        verify(clientToolbar, never()).addNavigation(any());
+        verify(itemManager, never()).getImage(anyInt());
+
+        when(player.getName()).thenReturn("bob");
+        plugin.onChatMessage(chat(ChatMessageType.MESBOX, "Nemarti gives you a training bow."));
+        plugin.onGameTick(new GameTick());
+        plugin.onGameTick(new GameTick());
+        flushSwing();
+        verify(clientToolbar).addNavigation(any());
+        verify(itemManager).getImage(anyInt());
+
+        plugin.shutDown();
+        flushSwing();
+        verify(clientToolbar).removeNavigation(any());
+    }
+
+    @Test
+    public void loadLastClaimTime_restoresFleetAndSkipsMalformedEntries() throws Exception
+    {
+        TutorTimerPlugin plugin = new TutorTimerPlugin();
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+        ConfigManager cfg = mock(ConfigManager.class);
+        when(cfg.getConfiguration("tutortimer", "fleet")).thenReturn(
+            "alice," + now.minusSeconds(60).toEpochMilli() + ",true;"
+                + "bob," + now.plus(Duration.ofMinutes(12)).toEpochMilli() + ",false;"
+                + "carol,soon,true");
+        setField(plugin, "configManager", cfg);
+        setField(plugin, "config", new TutorTimerConfig() { });
+        setField(plugin, "clock", Clock.fixed(now, ZoneOffset.UTC));
+
+        plugin.loadLastClaimTime();
+
+        assertEquals("Tutor Timer - claim runes or arrows to start tracking</br>Ready now: alice</br>Next: bob <12m",
+            plugin.getTooltipText());
     }
 
     // --- Config persistence ---
@@ -207,8 +628,8 @@ public class TutorTimerPluginTest
 
         plugin.loadLastClaimTime();
 
-        Object val = getField(plugin, "lastClaimTime");
-        assertEquals(Instant.ofEpochMilli(epoch), ((java.util.Optional<?>) val).get());
+        java.util.Optional<Instant> val = plugin.lastClaimTime();
+        assertEquals(Instant.ofEpochMilli(epoch), val.get());
     }
 
     @Test
@@ -224,7 +645,7 @@ public class TutorTimerPluginTest
 
         plugin.loadLastClaimTime();
 
-        assertTrue((boolean) getField(plugin, "knownOnCooldown"));
+        assertEquals(TimerState.UNKNOWN_COOLDOWN, plugin.currentState());
     }
 
     @Test
@@ -240,7 +661,25 @@ public class TutorTimerPluginTest
 
         plugin.loadLastClaimTime();
 
-        assertFalse((boolean) getField(plugin, "knownOnCooldown"));
+        assertEquals(TimerState.UNTRACKED, plugin.currentState());
+    }
+
+    @Test
+    public void loadLastClaimTime_expiredKnownCooldownResetsStateFromPreviousSession() throws Exception
+    {
+        TutorTimerPlugin plugin = new TutorTimerPlugin();
+        long epoch = Instant.now().minus(Duration.ofMinutes(31)).toEpochMilli();
+
+        ConfigManager cfg = mock(ConfigManager.class);
+        when(cfg.getConfiguration("tutortimer", "lastClaim")).thenReturn(null);
+        when(cfg.getConfiguration("tutortimer", "lastKnownCooldown")).thenReturn(String.valueOf(epoch));
+        setField(plugin, "configManager", cfg);
+        confirmCooldown(plugin);
+
+        plugin.loadLastClaimTime();
+
+        assertEquals(TimerState.UNTRACKED, plugin.currentState());
+        assertEquals("?", plugin.getTimerText());
     }
 
     @Test
@@ -259,8 +698,8 @@ public class TutorTimerPluginTest
 
         plugin.loadLastClaimTime();
 
-        Object val = getField(plugin, "lastClaimTime");
-        assertFalse("stale claim should be cleared", ((java.util.Optional<?>) val).isPresent());
+        java.util.Optional<Instant> val = plugin.lastClaimTime();
+        assertFalse("stale claim should be cleared", val.isPresent());
     }
 
     @Test
@@ -280,8 +719,8 @@ public class TutorTimerPluginTest
 
         plugin.loadLastClaimTime();
 
-        Object val = getField(plugin, "lastClaimTime");
-        assertTrue("claim should survive when shutdown outside cooldown", ((java.util.Optional<?>) val).isPresent());
+        java.util.Optional<Instant> val = plugin.lastClaimTime();
+        assertTrue("claim should survive when shutdown outside cooldown", val.isPresent());
     }
 
     @Test
@@ -299,8 +738,8 @@ public class TutorTimerPluginTest
 
         plugin.loadLastClaimTime();
 
-        Object val = getField(plugin, "lastClaimTime");
-        assertTrue("claim should remain when shutdown key absent", ((java.util.Optional<?>) val).isPresent());
+        java.util.Optional<Instant> val = plugin.lastClaimTime();
+        assertTrue("claim should remain when shutdown key absent", val.isPresent());
     }
 
     @Test
@@ -318,8 +757,8 @@ public class TutorTimerPluginTest
 
         plugin.loadLastClaimTime();
 
-        Object val = getField(plugin, "lastClaimTime");
-        assertTrue("claim should survive when shutdown value malformed", ((java.util.Optional<?>) val).isPresent());
+        java.util.Optional<Instant> val = plugin.lastClaimTime();
+        assertTrue("claim should survive when shutdown value malformed", val.isPresent());
         // log warning is emitted, but not asserted here
     }
 
@@ -0,0 +1,619 @@
+package com.tutortimer;
+
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.GameState;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.events.ConfigChanged;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.tutortimer.TutorTimerHarness.field;
+import static com.tutortimer.TutorTimerHarness.get;
+import static org.junit.Assert.*;
+
+/**
+ * Property-based fuzzer for the plugin's cooldown state machine.
+ *
+ * Random sequences of chat messages, game ticks, clock jumps, config changes, logins
+ * and logouts, and shutDown/startUp cycles are replayed against a virtual clock in parallel on the
+ * common fork-join pool. After every step a set of invariants is checked; the first
+ * failing sequence is shrunk to a minimal reproduction and reported.
+ *
+ * Sequence count, length and seed can be raised for longer local runs with
+ * {@code -Dtutortimer.fuzz.sequences}, {@code -Dtutortimer.fuzz.maxSteps} and
+ * {@code -Dtutortimer.fuzz.seed}.
+ */
+public class TutorTimerStateFuzzTest
+{
+    private static final int SEQUENCES = Integer.getInteger("tutortimer.fuzz.sequences", 200_000);
+    private static final int MAX_STEPS = Integer.getInteger("tutortimer.fuzz.maxSteps", 48);
+    private static final long SEED = Long.getLong("tutortimer.fuzz.seed", 0x5EEDL);
+    private static final int LEAF_SIZE = 256;
+
+    private static final long COOLDOWN_MS = TimerState.COOLDOWN.toMillis();
+    private static final long TICK_MS = 600L;
+
+    private static final Pattern SECONDS_FORMAT = Pattern.compile("(\\d+):(\\d{2})");
+    private static final Pattern MINUTES_FORMAT = Pattern.compile("(\\d+)m");
+
+    private static final String[] MESSAGES = {
+        "Mikasi gives you 30 mind runes and 30 air runes.",
+        "Nemarti gives you a training bow and some arrows.",
+        "Ranged combat tutor|I work with the Magic tutor to give out consumable items.",
+        "Magic combat tutor|I work with the Ranged Combat tutor to give out consumable items.",
+        "You can only get items every half an hour.",
+        "Welcome to Lumbridge.",
+    };
+    private static final ChatMessageType[] ACCEPTED_TYPES = {
+        ChatMessageType.DIALOG, ChatMessageType.GAMEMESSAGE, ChatMessageType.MESBOX,
+    };
+    private static final String[] CONFIG_KEYS = {
+        "showInfoBox", "showWhenReady", "notifyOnReady", "showSeconds",
+    };
+
+    private static final ChatMessage[] CHAT_EVENTS = new ChatMessage[MESSAGES.length * ACCEPTED_TYPES.length];
+    private static final ChatMessage[] IGNORED_CHAT_EVENTS = new ChatMessage[MESSAGES.length];
+    private static final ConfigChanged[] CONFIG_EVENTS = new ConfigChanged[CONFIG_KEYS.length + 1];
+    private static final GameTick TICK = new GameTick();
+    private static final GameState[] GAME_STATES = {
+        GameState.LOGGED_IN, GameState.LOADING, GameState.LOGIN_SCREEN, GameState.HOPPING, GameState.CONNECTION_LOST,
+    };
+    private static final GameStateChanged[] GAME_STATE_EVENTS = new GameStateChanged[GAME_STATES.length];
+
+    static
+    {
+        for (int m = 0; m < MESSAGES.length; m++)
+        {
+            for (int t = 0; t < ACCEPTED_TYPES.length; t++)
+            {
+                CHAT_EVENTS[m * ACCEPTED_TYPES.length + t] = chat(ACCEPTED_TYPES[t], MESSAGES[m]);
+            }
+            IGNORED_CHAT_EVENTS[m] = chat(ChatMessageType.PUBLICCHAT, MESSAGES[m]);
+        }
+        for (int k = 0; k < CONFIG_KEYS.length; k++)
+        {
+            CONFIG_EVENTS[k] = configChanged("tutortimer", CONFIG_KEYS[k]);
+        }
+        // a change in some other plugin's group must be a no-op
+        CONFIG_EVENTS[CONFIG_KEYS.length] = configChanged("runelite", "showInfoBox");
+        for (int g = 0; g < GAME_STATES.length; g++)
+        {
+            GAME_STATE_EVENTS[g] = new GameStateChanged();
+            GAME_STATE_EVENTS[g].setGameState(GAME_STATES[g]);
+        }
+    }
+
+    private static final Field COOLDOWN = field("cooldown");
+    private static final Field NOTIFIED_READY = field("notifiedReady");
+    private static final Field INFO_BOX = field("infoBox");
+
+    private static final ThreadLocal<TutorTimerHarness> HARNESS = ThreadLocal.withInitial(TutorTimerHarness::new);
+
+    @Test
+    public void randomSequencesPreserveInvariants()
+    {
+        AtomicReference<Failure> failure = new AtomicReference<>();
+        ForkJoinPool.commonPool().invoke(new FuzzTask(0, SEQUENCES, failure));
+
+        Failure found = failure.get();
+        if (found != null)
+        {
+            TutorTimerHarness harness = new TutorTimerHarness();
+            List<Step> minimal = shrink(found.steps, harness);
+            StringBuilder sb = new StringBuilder()
+                .append("Invariant violated (seed=").append(SEED)
+                .append(", sequence=").append(found.index).append(")\n")
+                .append(run(minimal, harness)).append("\nMinimal reproduction (")
+                .append(minimal.size()).append(" of ").append(found.steps.size()).append(" steps):");
+            for (Step step : minimal)
+            {
+                sb.append("\n  ").append(step);
+            }
+            fail(sb.toString());
+        }
+    }
+
+    @Test
+    public void shrinkReducesToFailingCore()
+    {
+        // sanity check the shrinker against a sequence with a single offending step buried in noise
+        List<Step> steps = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < 40; i++)
+        {
+            steps.add(randomStep(random));
+        }
+        steps.add(20, new Step(Op.ADVANCE, -1));
+
+        List<Step> minimal = shrink(steps, new TutorTimerHarness());
+
+        assertEquals(1, minimal.size());
+        assertEquals(Op.ADVANCE, minimal.get(0).op);
+        assertTrue(minimal.get(0).arg < 0);
+    }
+
+    // --- Sequence generation ---
+
+    private enum Op
+    {
+        CHAT, IGNORED_CHAT, TICK, ADVANCE, CONFIG, GAME_STATE, RESTART
+    }
+
+    private static final class Step
+    {
+        final Op op;
+        final long arg;
+
+        Step(Op op, long arg)
+        {
+            this.op = op;
+            this.arg = arg;
+        }
+
+        @Override
+        public String toString()
+        {
+            switch (op)
+            {
+                case CHAT:
+                    ChatMessage chat = CHAT_EVENTS[(int) arg];
+                    return "chat " + chat.getType() + " \"" + chat.getMessage() + "\"";
+                case IGNORED_CHAT:
+                    return "chat PUBLICCHAT \"" + MESSAGES[(int) arg] + "\"";
+                case TICK:
+                    return "tick";
+                case ADVANCE:
+                    return "advance " + arg + "ms";
+                case CONFIG:
+                    int key = (int) (arg >> 1);
+                    return "config " + CONFIG_EVENTS[key].getGroup() + "." + CONFIG_EVENTS[key].getKey()
+                        + " = " + ((arg & 1) == 1);
+                case GAME_STATE:
+                    return "game state " + GAME_STATES[(int) arg];
+                case RESTART:
+                    return "shutDown, offline " + arg + "ms, startUp";
+                default:
+                    return op.name();
+            }
+        }
+    }
+
+    private static List<Step> generate(long sequence)
+    {
+        SplittableRandom random = new SplittableRandom(SEED ^ (sequence * 0x9E3779B97F4A7C15L));
+        int length = 1 + random.nextInt(MAX_STEPS);
+        List<Step> steps = new ArrayList<>(length);
+        for (int i = 0; i < length; i++)
+        {
+            steps.add(randomStep(random));
+        }
+        return steps;
+    }
+
+    private static Step randomStep(SplittableRandom random)
+    {
+        int roll = random.nextInt(100);
+        if (roll < 30) return new Step(Op.TICK, 0);
+        if (roll < 52) return new Step(Op.ADVANCE, randomDuration(random));
+        if (roll < 74) return new Step(Op.CHAT, random.nextInt(CHAT_EVENTS.length));
+        if (roll < 77) return new Step(Op.IGNORED_CHAT, random.nextInt(IGNORED_CHAT_EVENTS.length));
+        if (roll < 88) return new Step(Op.CONFIG, (random.nextInt(CONFIG_EVENTS.length) << 1) | random.nextInt(2));
+        if (roll < 95) return new Step(Op.GAME_STATE, random.nextInt(GAME_STATES.length));
+        return new Step(Op.RESTART, randomDuration(random));
+    }
+
+    // Durations cluster around the interesting edges: a tick, the expiry throttle and the cooldown itself.
+    private static long randomDuration(SplittableRandom random)
+    {
+        switch (random.nextInt(6))
+        {
+            case 0: return TICK_MS;
+            case 1: return random.nextLong(1, 10 * 60_000L);
+            case 2: return TutorTimerPlugin.KNOWN_COOLDOWN_CHECK_INTERVAL_MS + random.nextLong(-TICK_MS, TICK_MS + 1);
+            case 3: return COOLDOWN_MS + random.nextLong(-2_000L, 2_001L);
+            case 4: return random.nextLong(0, 2 * COOLDOWN_MS);
+            default: return 0L;
+        }
+    }
+
+    // --- Parallel driver ---
+
+    private static final class Failure
+    {
+        final long index;
+        final List<Step> steps;
+
+        Failure(long index, List<Step> steps)
+        {
+            this.index = index;
+            this.steps = steps;
+        }
+    }
+
+    private static final class FuzzTask extends RecursiveAction
+    {
+        private final int from;
+        private final int to;
+        private final AtomicReference<Failure> failure;
+
+        FuzzTask(int from, int to, AtomicReference<Failure> failure)
+        {
+            this.from = from;
+            this.to = to;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from > LEAF_SIZE)
+            {
+                int mid = (from + to) >>> 1;
+                invokeAll(new FuzzTask(from, mid, failure), new FuzzTask(mid, to, failure));
+                return;
+            }
+
+            TutorTimerHarness harness = HARNESS.get();
+            for (int i = from; i < to && failure.get() == null; i++)
+            {
+                List<Step> steps = generate(i);
+                if (run(steps, harness) != null)
+                {
+                    failure.compareAndSet(null, new Failure(i, steps));
+                    return;
+                }
+            }
+        }
+    }
+
+    // --- Shrinking ---
+
+    // Greedy delta debugging: drop ever smaller chunks of steps, then halve durations,
+    // keeping any candidate that still fails until no further reduction applies.
+    private static List<Step> shrink(List<Step> failing, TutorTimerHarness harness)
+    {
+        List<Step> current = failing;
+        boolean progress = true;
+        while (progress)
+        {
+            progress = false;
+            for (int chunk = Math.max(1, current.size() / 2); chunk >= 1; chunk /= 2)
+            {
+                int start = 0;
+                while (start + chunk <= current.size())
+                {
+                    List<Step> candidate = new ArrayList<>(current.subList(0, start));
+                    candidate.addAll(current.subList(start + chunk, current.size()));
+                    if (run(candidate, harness) != null)
+                    {
+                        current = candidate;
+                        progress = true;
+                    }
+                    else
+                    {
+                        start += chunk;
+                    }
+                }
+            }
+
+            for (int i = 0; i < current.size(); i++)
+            {
+                Step step = current.get(i);
+                if ((step.op == Op.ADVANCE || step.op == Op.RESTART) && Math.abs(step.arg) > 1)
+                {
+                    List<Step> candidate = new ArrayList<>(current);
+                    candidate.set(i, new Step(step.op, step.arg / 2));
+                    if (run(candidate, harness) != null)
+                    {
+                        current = candidate;
+                        progress = true;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    // --- Replay and invariants ---
+
+    /**
+     * Replays a sequence against a fresh plugin and returns a description of the first
+     * violated invariant, or null if the sequence is clean.
+     */
+    private static String run(List<Step> steps, TutorTimerHarness h)
+    {
+        h.reset();
+        TutorTimerPlugin plugin = h.newPlugin();
+        plugin.startUp();
+        int notificationsAtClaim = 0;
+
+        for (int i = 0; i < steps.size(); i++)
+        {
+            Step step = steps.get(i);
+            String error;
+            switch (step.op)
+            {
+                case CHAT:
+                {
+                    int before = h.notifications;
+                    String snapshot = snapshot(plugin);
+                    ChatMessage chat = CHAT_EVENTS[(int) step.arg];
+                    plugin.onChatMessage(chat);
+                    if (h.isIdle())
+                    {
+                        error = snapshot.equals(snapshot(plugin)) ? null : "chat changed state while logged out";
+                        break;
+                    }
+                    if (chat.getMessage().contains(" gives you "))
+                    {
+                        notificationsAtClaim = before;
+                    }
+                    error = null;
+                    break;
+                }
+                case IGNORED_CHAT:
+                {
+                    String before = snapshot(plugin);
+                    plugin.onChatMessage(IGNORED_CHAT_EVENTS[(int) step.arg]);
+                    String after = snapshot(plugin);
+                    error = before.equals(after) ? null
+                        : "ignored chat type changed state from " + before + " to " + after;
+                    break;
+                }
+                case TICK:
+                {
+                    int before = h.notifications;
+                    plugin.onGameTick(TICK);
+                    if (h.isIdle())
+                    {
+                        error = h.notifications == before ? null : "notified while logged out";
+                        break;
+                    }
+                    error = checkAfterTick(plugin, h, h.notifications - notificationsAtClaim);
+                    break;
+                }
+                case ADVANCE:
+                    if (step.arg < 0)
+                    {
+                        // reserved for the shrinker self-test; the real clock never runs backwards
+                        error = "clock moved backwards";
+                        break;
+                    }
+                    h.clock.millis += step.arg;
+                    error = null;
+                    break;
+                case CONFIG:
+                {
+                    ConfigChanged event = CONFIG_EVENTS[(int) (step.arg >> 1)];
+                    if ("tutortimer".equals(event.getGroup()))
+                    {
+                        h.config.set(event.getKey(), (step.arg & 1) == 1);
+                    }
+                    plugin.onConfigChanged(event);
+                    error = null;
+                    break;
+                }
+                case GAME_STATE:
+                {
+                    boolean wasIdle = h.isIdle();
+                    h.gameState = GAME_STATES[(int) step.arg];
+                    plugin.onGameStateChanged(GAME_STATE_EVENTS[(int) step.arg]);
+                    // logging back in must catch up exactly as a tick would
+                    error = wasIdle && !h.isIdle()
+                        ? checkAfterTick(plugin, h, h.notifications - notificationsAtClaim)
+                        : null;
+                    break;
+                }
+                case RESTART:
+                    error = restart(plugin, h, step.arg);
+                    break;
+                default:
+                    error = "unknown step " + step;
+            }
+
+            if (error == null)
+            {
+                error = checkAlways(plugin, h, h.notifications - notificationsAtClaim);
+            }
+            if (error != null)
+            {
+                plugin.shutDown();
+                return "step " + i + " (" + step + "): " + error + " at t+" + (h.clock.millis - TutorTimerHarness.START_MILLIS) + "ms";
+            }
+        }
+
+        plugin.shutDown();
+        return h.infoBoxes.size() == 0 ? null : "info box still registered after shutDown";
+    }
+
+    private static String restart(TutorTimerPlugin plugin, TutorTimerHarness h, long offlineMillis)
+    {
+        Optional<Instant> claim = plugin.lastClaimTime();
+        long shutdownAt = h.clock.millis;
+
+        plugin.shutDown();
+        if (h.infoBoxes.size() != 0)
+        {
+            return "shutDown left " + h.infoBoxes.size() + " info box(es) registered";
+        }
+        h.clock.millis += offlineMillis;
+        plugin.startUp();
+
+        // a shutdown inside the cooldown window means the claim may belong to another account
+        boolean stale = claim.isPresent()
+            && shutdownAt > claim.get().toEpochMilli()
+            && shutdownAt < claim.get().toEpochMilli() + COOLDOWN_MS;
+        Optional<Instant> expected = stale ? Optional.empty() : claim;
+        Optional<Instant> actual = plugin.lastClaimTime();
+        if (!expected.equals(actual))
+        {
+            return "claim " + claim + " restored as " + actual + ", expected " + expected;
+        }
+
+        Optional<Instant> known = plugin.lastKnownCooldownTime();
+        if (actual.isEmpty() && known.isPresent() && !h.clock.instant().isBefore(known.get().plus(TimerState.COOLDOWN)))
+        {
+            return "expired known cooldown " + known.get() + " survived restart";
+        }
+        return null;
+    }
+
+    private static String checkAfterTick(TutorTimerPlugin plugin, TutorTimerHarness h, int notificationsSinceClaim)
+    {
+        if (h.config.notifyOnReady && plugin.isReady() && notificationsSinceClaim != 1)
+        {
+            return "ready with notifications enabled but " + notificationsSinceClaim + " notification(s) sent";
+        }
+
+        Optional<Instant> claim = plugin.lastClaimTime();
+        Optional<Instant> known = plugin.lastKnownCooldownTime();
+        if (claim.isEmpty() && known.isPresent()
+            && known.get().toEpochMilli() + COOLDOWN_MS < h.clock.millis - TutorTimerPlugin.KNOWN_COOLDOWN_CHECK_INTERVAL_MS)
+        {
+            return "known cooldown " + known.get() + " expired more than one check interval ago";
+        }
+        return null;
+    }
+
+    private static String checkAlways(TutorTimerPlugin plugin, TutorTimerHarness h, int notificationsSinceClaim)
+    {
+        if (notificationsSinceClaim > 1)
+        {
+            return notificationsSinceClaim + " ready notifications for a single claim";
+        }
+
+        Optional<Instant> claim = plugin.lastClaimTime();
+        Optional<Instant> known = plugin.lastKnownCooldownTime();
+
+        String persistedClaim = h.store.get("lastClaim");
+        String expectedClaim = claim.map(t -> String.valueOf(t.toEpochMilli())).orElse(null);
+        if (!java.util.Objects.equals(expectedClaim, persistedClaim))
+        {
+            return "claim " + claim + " persisted as " + persistedClaim;
+        }
+        String persistedKnown = h.store.get("lastKnownCooldown");
+        String expectedKnown = known.map(t -> String.valueOf(t.toEpochMilli())).orElse(null);
+        if (!java.util.Objects.equals(expectedKnown, persistedKnown))
+        {
+            return "known cooldown " + known + " persisted as " + persistedKnown;
+        }
+        if (h.store.containsKey("lastShutdown"))
+        {
+            return "shutdown marker left behind after startUp";
+        }
+
+        if (plugin.isUnknown() != claim.isEmpty())
+        {
+            return "isUnknown() disagrees with claim " + claim;
+        }
+
+        String text = plugin.getTimerText();
+        String tooltip = plugin.getTooltipText();
+        TutorCooldown cooldown = get(plugin, COOLDOWN);
+        TimerState state = cooldown.state();
+        boolean expectReady = claim.isPresent()
+            && h.clock.millis >= claim.get().toEpochMilli() + COOLDOWN_MS;
+        if (expectReady != (state == TimerState.READY) || plugin.isReady() != expectReady)
+        {
+            return "state " + state + " for claim " + claim;
+        }
+        if (claim.isEmpty() && (state == TimerState.UNKNOWN_COOLDOWN) != known.isPresent())
+        {
+            return "state " + state + " with known cooldown " + known;
+        }
+
+        if (claim.isEmpty())
+        {
+            String expected = known.isPresent() ? "< 30m" : "?";
+            if (!expected.equals(text))
+            {
+                return "timer text '" + text + "' without a claim, expected '" + expected + "'";
+            }
+        }
+        else if (plugin.isReady())
+        {
+            if (!"Ready!".equals(text) || !"Tutor Timer - ready to claim!".equals(tooltip))
+            {
+                return "ready but showing '" + text + "' / '" + tooltip + "'";
+            }
+        }
+        else
+        {
+            String error = checkCountdown(text, h.config.showSeconds);
+            if (error != null)
+            {
+                return error;
+            }
+            if (!tooltip.equals("Tutor Timer - " + text + " remaining"))
+            {
+                return "tooltip '" + tooltip + "' does not match timer '" + text + "'";
+            }
+        }
+
+        Object infoBox = get(plugin, INFO_BOX);
+        int expectedBoxes = infoBox == null ? 0 : 1;
+        if (h.infoBoxes.size() != expectedBoxes)
+        {
+            return h.infoBoxes.size() + " info box(es) registered, plugin holds " + expectedBoxes;
+        }
+        if (h.isIdle() && h.infoBoxes.size() != 0)
+        {
+            return "info box registered while logged out";
+        }
+        return null;
+    }
+
+    private static String checkCountdown(String text, boolean showSeconds)
+    {
+        Matcher matcher = (showSeconds ? SECONDS_FORMAT : MINUTES_FORMAT).matcher(text);
+        if (!matcher.matches())
+        {
+            return "malformed countdown '" + text + "'";
+        }
+        long minutes = Long.parseLong(matcher.group(1));
+        long seconds = showSeconds ? Long.parseLong(matcher.group(2)) : 0;
+        long total = minutes * 60 + seconds;
+        if (seconds > 59 || total < 0 || total > TimerState.COOLDOWN.getSeconds())
+        {
+            return "countdown '" + text + "' outside [0, 30:00]";
+        }
+        return null;
+    }
+
+    private static String snapshot(TutorTimerPlugin plugin)
+    {
+        return plugin.lastClaimTime() + "/" + plugin.lastKnownCooldownTime() + "/"
+            + TutorTimerHarness.<TutorCooldown>get(plugin, COOLDOWN).state() + "/" + get(plugin, NOTIFIED_READY);
+    }
+
+    // --- Helpers ---
+
+    private static ChatMessage chat(ChatMessageType type, String message)
+    {
+        ChatMessage event = new ChatMessage();
+        event.setType(type);
+        event.setMessage(message);
+        return event;
+    }
+
+    private static ConfigChanged configChanged(String group, String key)
+    {
+        ConfigChanged event = new ConfigChanged();
+        event.setGroup(group);
+        event.setKey(key);
+        return event;
+    }
+}